@@ -0,0 +1,61 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Build step that packs the bundled word lists into binary resources, loaded by {@link PackedWordListResources}, and
+ * writes the {@link NFKDTable} resource.
+ * <p>
+ * Usage: LookupTableGenerator outputDirectory
+ */
+public final class LookupTableGenerator {
+
+    private LookupTableGenerator() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 1)
+            throw new IllegalArgumentException("Usage: LookupTableGenerator outputDirectory");
+        for (final WordList wordList : PackedWordListResources.BUNDLED) {
+            final File file = new File(packageDirectory(args[0], wordList.getClass()),
+                    PackedWordListResources.resourceName(wordList));
+            try (final OutputStream out = new FileOutputStream(file)) {
+                PackedWordList.pack(wordList).writeTo(out);
+            }
+        }
+        final File file = new File(packageDirectory(args[0], NFKDTable.class), NFKDTable.RESOURCE_NAME);
+        try (final OutputStream out = new FileOutputStream(file)) {
+            NFKDTable.build().writeTo(out);
+        }
+    }
+
+    private static File packageDirectory(final String outputDirectory, final Class<?> type) throws IOException {
+        final File directory = new File(outputDirectory, type.getPackage().getName().replace('.', File.separatorChar));
+        if (!directory.isDirectory() && !directory.mkdirs())
+            throw new IOException("Could not create " + directory);
+        return directory;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares JMH JSON results written by {@link BenchmarkRunner} with a committed baseline, or replaces the baseline.
+ * <p>
+ * Usage:
+ * <p>
+ * BenchmarkBaseline compare baselineFile resultsDirectory tolerancePercent
+ * <p>
+ * BenchmarkBaseline update baselineFile resultsDirectory
+ * <p>
+ * Compare prints a table of throughput and allocated bytes per operation, the latter from JMH's gc profiler, and exits
+ * with status 1 if any throughput fell or any allocation grew by more than the tolerance.
+ */
+public final class BenchmarkBaseline {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    /**
+     * Allocation changes smaller than this many bytes per operation are noise, not regressions.
+     */
+    private static final double ALLOCATION_SLACK_BYTES = 16;
+
+    static final class Result {
+        double throughput;
+        String unit;
+        Double allocatedBytesPerOp;
+    }
+
+    static final class Baseline {
+        Map<String, String> environment = new TreeMap<>();
+        Map<String, Result> results = new TreeMap<>();
+    }
+
+    private BenchmarkBaseline() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length == 4 && "compare".equals(args[0])) {
+            final boolean passed = compare(read(new File(args[1])), readResults(new File(args[2])),
+                    Double.parseDouble(args[3]));
+            if (!passed)
+                System.exit(1);
+        } else if (args.length == 3 && "update".equals(args[0])) {
+            write(new File(args[1]), readResults(new File(args[2])));
+            System.out.println("Baseline written to " + args[1]);
+        } else {
+            throw new IllegalArgumentException("Usage: BenchmarkBaseline compare baselineFile resultsDirectory " +
+                    "tolerancePercent | update baselineFile resultsDirectory");
+        }
+    }
+
+    static Baseline readResults(final File resultsDirectory) throws IOException {
+        final File[] files = resultsDirectory.listFiles();
+        if (files == null)
+            throw new IOException("No results in " + resultsDirectory);
+        final Baseline results = new Baseline();
+        results.environment = environment();
+        for (final File file : files) {
+            if (!file.getName().endsWith(".json"))
+                continue;
+            try (final Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                final JsonArray runs = new JsonParser().parse(reader).getAsJsonArray();
+                for (final JsonElement run : runs) {
+                    addRun(results.results, run.getAsJsonObject());
+                }
+            }
+        }
+        return results;
+    }
+
+    private static void addRun(final Map<String, Result> results, final JsonObject run) {
+        final StringBuilder key = new StringBuilder(shortName(run.get("benchmark").getAsString()));
+        if (run.has("params")) {
+            for (final Map.Entry<String, JsonElement> param :
+                    toMap(run.getAsJsonObject("params")).entrySet()) {
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().getAsString());
+            }
+        }
+        key.append(" threads=").append(run.get("threads").getAsInt());
+        final Result result = new Result();
+        final JsonObject primary = run.getAsJsonObject("primaryMetric");
+        result.throughput = primary.get("score").getAsDouble();
+        result.unit = primary.get("scoreUnit").getAsString();
+        if (run.has("secondaryMetrics")) {
+            for (final Map.Entry<String, JsonElement> metric : run.getAsJsonObject("secondaryMetrics").entrySet()) {
+                if (metric.getKey().endsWith(ALLOCATION_METRIC))
+                    result.allocatedBytesPerOp = metric.getValue().getAsJsonObject().get("score").getAsDouble();
+            }
+        }
+        results.put(key.toString(), result);
+    }
+
+    private static Map<String, JsonElement> toMap(final JsonObject object) {
+        final Map<String, JsonElement> map = new TreeMap<>();
+        for (final Map.Entry<String, JsonElement> entry : object.entrySet()) {
+            map.put(entry.getKey(), entry.getValue());
+        }
+        return map;
+    }
+
+    private static String shortName(final String benchmark) {
+        final int method = benchmark.lastIndexOf('.');
+        return benchmark.substring(benchmark.lastIndexOf('.', method - 1) + 1);
+    }
+
+    private static Map<String, String> environment() {
+        final Map<String, String> environment = new TreeMap<>();
+        environment.put("java.version", System.getProperty("java.version"));
+        environment.put("java.vm.name", System.getProperty("java.vm.name"));
+        environment.put("os.arch", System.getProperty("os.arch"));
+        environment.put("processors", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        return environment;
+    }
+
+    static boolean compare(final Baseline baseline, final Baseline current, final double tolerancePercent) {
+        if (!baseline.environment.equals(current.environment)) {
+            System.out.println("Warning: baseline was recorded on " + baseline.environment + ", this is " +
+                    current.environment);
+        }
+        final List<String[]> rows = new ArrayList<>();
+        rows.add(new String[]{"Benchmark", "Metric", "Baseline", "Current", "Change", ""});
+        boolean passed = true;
+        for (final Map.Entry<String, Result> entry : current.results.entrySet()) {
+            final Result now = entry.getValue();
+            final Result before = baseline.results.get(entry.getKey());
+            if (before == null || !before.unit.equals(now.unit)) {
+                rows.add(new String[]{entry.getKey(), now.unit, "-", format(now.throughput), "", "NEW"});
+                continue;
+            }
+            final double throughputChange = percentChange(before.throughput, now.throughput);
+            final boolean slower = throughputChange < -tolerancePercent;
+            rows.add(new String[]{entry.getKey(), now.unit, format(before.throughput), format(now.throughput),
+                    formatChange(throughputChange), slower ? "REGRESSED" : ""});
+            passed &= !slower;
+            if (before.allocatedBytesPerOp != null && now.allocatedBytesPerOp != null) {
+                final double allocationChange = percentChange(before.allocatedBytesPerOp, now.allocatedBytesPerOp);
+                final boolean moreAllocation = allocationChange > tolerancePercent &&
+                        now.allocatedBytesPerOp - before.allocatedBytesPerOp > ALLOCATION_SLACK_BYTES;
+                rows.add(new String[]{"", "B/op", format(before.allocatedBytesPerOp),
+                        format(now.allocatedBytesPerOp), formatChange(allocationChange),
+                        moreAllocation ? "REGRESSED" : ""});
+                passed &= !moreAllocation;
+            }
+        }
+        for (final String key : baseline.results.keySet()) {
+            if (!current.results.containsKey(key))
+                rows.add(new String[]{key, baseline.results.get(key).unit, "", "-", "", "NOT RUN"});
+        }
+        printTable(rows);
+        System.out.println(passed
+                ? "No regressions beyond " + tolerancePercent + "%"
+                : "Regressions beyond " + tolerancePercent + "%, if intended refresh the baseline with jmhUpdateBaseline");
+        return passed;
+    }
+
+    private static double percentChange(final double before, final double now) {
+        return before == 0 ? (now == 0 ? 0 : 100) : (now - before) * 100 / before;
+    }
+
+    private static String format(final double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static String formatChange(final double change) {
+        return String.format(Locale.ROOT, "%+.1f%%", change);
+    }
+
+    private static void printTable(final List<String[]> rows) {
+        final int[] widths = new int[rows.get(0).length];
+        for (final String[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                widths[i] = Math.max(widths[i], row[i].length());
+            }
+        }
+        for (final String[] row : rows) {
+            final StringBuilder line = new StringBuilder();
+            for (int i = 0; i < row.length; i++) {
+                final boolean number = i >= 2 && i <= 4;
+                if (!number)
+                    line.append(row[i]);
+                for (int pad = row[i].length(); pad < widths[i]; pad++) {
+                    line.append(' ');
+                }
+                if (number)
+                    line.append(row[i]);
+                line.append("  ");
+            }
+            int end = line.length();
+            while (end > 0 && line.charAt(end - 1) == ' ') end--;
+            System.out.println(line.substring(0, end));
+        }
+    }
+
+    static Baseline read(final File file) throws IOException {
+        try (final Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            return gson().fromJson(reader, Baseline.class);
+        }
+    }
+
+    static void write(final File file, final Baseline baseline) throws IOException {
+        try (final Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            gson().toJson(baseline, writer);
+            writer.write('\n');
+        }
+    }
+
+    private static Gson gson() {
+        return new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the benchmarks once per thread count, writing JMH JSON results for each.
+ * <p>
+ * Usage: BenchmarkRunner resultsDirectory threadCounts [JMH options]
+ * <p>
+ * threadCounts is a comma separated list such as "1,2,4", or "default" for 1 and each power of two up to the number
+ * of available processors.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+        if (args.length < 2)
+            throw new IllegalArgumentException("Usage: BenchmarkRunner resultsDirectory threadCounts [JMH options]");
+        final File resultsDirectory = new File(args[0]);
+        if (!resultsDirectory.isDirectory() && !resultsDirectory.mkdirs())
+            throw new IllegalStateException("Could not create " + resultsDirectory);
+        final CommandLineOptions jmhOptions = new CommandLineOptions(Arrays.copyOfRange(args, 2, args.length));
+        for (final int threads : threadCounts(args[1])) {
+            new Runner(new OptionsBuilder()
+                    .parent(jmhOptions)
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(resultsDirectory, "threads-" + threads + ".json").getPath())
+                    .build())
+                    .run();
+        }
+    }
+
+    static List<Integer> threadCounts(final String threadCounts) {
+        final List<Integer> counts = new ArrayList<>();
+        if ("default".equals(threadCounts)) {
+            final int processors = Runtime.getRuntime().availableProcessors();
+            for (int threads = 1; threads < processors; threads *= 2) {
+                counts.add(threads);
+            }
+            counts.add(processors);
+            return counts;
+        }
+        for (final String count : threadCounts.split(",")) {
+            counts.add(Integer.parseInt(count.trim()));
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+@State(Scope.Thread)
+public class ByteUtilsBenchmark {
+
+    private static final int WORDS = 24;
+
+    private final byte[] bytes = new byte[33];
+    private final int[] values = new int[WORDS];
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1);
+        random.nextBytes(bytes);
+        for (int i = 0; i < WORDS; i++) {
+            values[i] = random.nextInt(1 << 11);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public int next11Bits() {
+        int sum = 0;
+        for (int i = 0; i < WORDS; i++) {
+            sum += ByteUtils.next11Bits(bytes, i * 11);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public byte[] writeNext11() {
+        for (int i = 0; i < WORDS; i++) {
+            ByteUtils.writeNext11(bytes, values[i], i * 11);
+        }
+        return bytes;
+    }
+}
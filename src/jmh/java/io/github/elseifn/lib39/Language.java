@@ -0,0 +1,96 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import io.github.elseifn.lib39.wordlists.English;
+import io.github.elseifn.lib39.wordlists.French;
+import io.github.elseifn.lib39.wordlists.Japanese;
+import io.github.elseifn.lib39.wordlists.Spanish;
+import io.github.elseifn.testjson.EnglishJson;
+import io.github.elseifn.testjson.TestVector;
+import io.github.elseifn.testjson.TestVectorJson;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The bundled languages, with benchmark inputs taken from the bip39_*_test_vectors.json resources.
+ */
+public enum Language {
+    ENGLISH(English.INSTANCE),
+    FRENCH(French.INSTANCE),
+    JAPANESE(Japanese.INSTANCE),
+    SPANISH(Spanish.INSTANCE);
+
+    private final WordList wordList;
+
+    Language(final WordList wordList) {
+        this.wordList = wordList;
+    }
+
+    public WordList wordList() {
+        return wordList;
+    }
+
+    public List<Vector> vectors() {
+        final List<Vector> vectors = new ArrayList<>();
+        if (this == ENGLISH) {
+            for (final String[] testCase : EnglishJson.load().english) {
+                vectors.add(new Vector(testCase[0], testCase[1], "TREZOR"));
+            }
+            return vectors;
+        }
+        final TestVectorJson json = this == FRENCH ? TestVectorJson.loadFrench()
+                : this == JAPANESE ? TestVectorJson.loadJapanese() : TestVectorJson.loadSpanish();
+        for (final TestVector testVector : json.vectors) {
+            vectors.add(new Vector(testVector.entropy, testVector.mnemonic, testVector.passphrase));
+        }
+        return vectors;
+    }
+
+    public static final class Vector {
+        public final String entropy;
+        public final String mnemonic;
+        public final String passphrase;
+
+        Vector(final String entropy, final String mnemonic, final String passphrase) {
+            this.entropy = entropy;
+            this.mnemonic = mnemonic;
+            this.passphrase = passphrase;
+        }
+
+        public byte[] entropyBytes() {
+            final byte[] bytes = new byte[entropy.length() / 2];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) Integer.parseInt(entropy.substring(i * 2, i * 2 + 2), 16);
+            }
+            return bytes;
+        }
+
+        public List<String> words(final WordList wordList) {
+            final List<String> words = new ArrayList<>();
+            for (final CharSequence word : new CharSequenceSplitter(' ', wordList.getSpace()).split(mnemonic)) {
+                words.add(word.toString());
+            }
+            return words;
+        }
+    }
+}
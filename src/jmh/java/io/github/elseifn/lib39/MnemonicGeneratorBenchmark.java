@@ -0,0 +1,80 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+@State(Scope.Thread)
+public class MnemonicGeneratorBenchmark {
+
+    @Param({"ENGLISH", "FRENCH", "JAPANESE", "SPANISH"})
+    public Language language;
+
+    private MnemonicGenerator generator;
+    private byte[][] entropies;
+    private String[] entropiesHex;
+    private final StringBuilder target = new StringBuilder();
+    private final MnemonicGenerator.Target appender = new MnemonicGenerator.Target() {
+        @Override
+        public void append(final CharSequence string) {
+            target.append(string);
+        }
+    };
+    private int next;
+
+    @Setup
+    public void setup() {
+        generator = new MnemonicGenerator(language.wordList());
+        final List<Language.Vector> vectors = language.vectors();
+        entropies = new byte[vectors.size()][];
+        entropiesHex = new String[vectors.size()];
+        for (int i = 0; i < entropies.length; i++) {
+            entropies[i] = vectors.get(i).entropyBytes();
+            entropiesHex[i] = vectors.get(i).entropy;
+        }
+    }
+
+    @Benchmark
+    public int createMnemonic() {
+        target.setLength(0);
+        generator.createMnemonic(entropies[nextVector()], appender);
+        return target.length();
+    }
+
+    @Benchmark
+    public int createMnemonicFromHex() {
+        target.setLength(0);
+        generator.createMnemonic(entropiesHex[nextVector()], appender);
+        return target.length();
+    }
+
+    private int nextVector() {
+        final int vector = next;
+        next = vector + 1 == entropies.length ? 0 : vector + 1;
+        return vector;
+    }
+}
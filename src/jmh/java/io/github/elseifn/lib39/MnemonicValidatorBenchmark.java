@@ -0,0 +1,76 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import io.github.elseifn.lib39.Validation.InvalidChecksumException;
+import io.github.elseifn.lib39.Validation.InvalidWordCountException;
+import io.github.elseifn.lib39.Validation.UnexpectedWhiteSpaceException;
+import io.github.elseifn.lib39.Validation.WordNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+@State(Scope.Thread)
+public class MnemonicValidatorBenchmark {
+
+    @Param({"ENGLISH", "FRENCH", "JAPANESE", "SPANISH"})
+    public Language language;
+
+    private MnemonicValidator validator;
+    private String[] mnemonics;
+    private List<?>[] wordLists;
+    private int next;
+
+    @Setup
+    public void setup() {
+        validator = MnemonicValidator.ofWordList(language.wordList());
+        final List<Language.Vector> vectors = language.vectors();
+        mnemonics = new String[vectors.size()];
+        wordLists = new List<?>[vectors.size()];
+        for (int i = 0; i < mnemonics.length; i++) {
+            mnemonics[i] = vectors.get(i).mnemonic;
+            wordLists[i] = vectors.get(i).words(language.wordList());
+        }
+    }
+
+    @Benchmark
+    public void validate() throws InvalidChecksumException, InvalidWordCountException, WordNotFoundException,
+            UnexpectedWhiteSpaceException {
+        validator.validate(mnemonics[nextVector()]);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void validateWordList() throws InvalidChecksumException, InvalidWordCountException,
+            WordNotFoundException, UnexpectedWhiteSpaceException {
+        validator.validate((List<String>) wordLists[nextVector()]);
+    }
+
+    private int nextVector() {
+        final int vector = next;
+        next = vector + 1 == mnemonics.length ? 0 : vector + 1;
+        return vector;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+@State(Scope.Thread)
+public class SeedCalculatorBenchmark {
+
+    public enum Pbkdf2 {
+        SPONGY_CASTLE(SpongyCastlePBKDF2WithHmacSHA512.INSTANCE),
+        JAVAX(JavaxPBKDF2WithHmacSHA512.INSTANCE);
+
+        private final PBKDF2WithHmacSHA512 implementation;
+
+        Pbkdf2(final PBKDF2WithHmacSHA512 implementation) {
+            this.implementation = implementation;
+        }
+    }
+
+    @Param({"ENGLISH", "FRENCH", "JAPANESE", "SPANISH"})
+    public Language language;
+
+    @Param({"SPONGY_CASTLE", "JAVAX"})
+    public Pbkdf2 pbkdf2;
+
+    private SeedCalculator seedCalculator;
+    private SeedCalculatorByWordListLookUp byWordListLookUp;
+    private List<Language.Vector> vectors;
+    private List<?>[] wordLists;
+    private int next;
+
+    @Setup
+    public void setup() {
+        seedCalculator = new SeedCalculator(pbkdf2.implementation);
+        byWordListLookUp = seedCalculator.withWordsFromWordList(language.wordList());
+        vectors = language.vectors();
+        wordLists = new List<?>[vectors.size()];
+        for (int i = 0; i < wordLists.length; i++) {
+            wordLists[i] = vectors.get(i).words(language.wordList());
+        }
+    }
+
+    @Benchmark
+    public byte[] calculateSeed() {
+        final Language.Vector vector = vectors.get(nextVector());
+        return seedCalculator.calculateSeed(vector.mnemonic, vector.passphrase);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public byte[] calculateSeedByWordListLookUp() {
+        final int vector = nextVector();
+        return byWordListLookUp.calculateSeed((List<String>) wordLists[vector],
+                vectors.get(vector).passphrase);
+    }
+
+    private int nextVector() {
+        final int vector = next;
+        next = vector + 1 == wordLists.length ? 0 : vector + 1;
+        return vector;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import io.github.elseifn.lib39.Validation.InvalidChecksumException;
+import io.github.elseifn.lib39.Validation.InvalidWordCountException;
+import io.github.elseifn.lib39.Validation.UnexpectedWhiteSpaceException;
+import io.github.elseifn.lib39.Validation.WordNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to the first validation in a fresh JVM: building or loading the index of the word list, creating the
+ * validator and validating one mnemonic. Each fork measures one shot, so the spread comes from the number of forks.
+ * Scores are times rather than throughput, so this is left out of the regression gate.
+ * <p>
+ * ./gradlew jmh -PjmhThreads=1 -PjmhArgs="StartupBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+
+    @Param({"ENGLISH", "FRENCH", "JAPANESE", "SPANISH"})
+    public Language language;
+
+    private String mnemonic;
+
+    @Setup
+    public void setup() {
+        mnemonic = language.vectors().get(0).mnemonic;
+    }
+
+    @Benchmark
+    public void firstValidation() throws InvalidChecksumException, InvalidWordCountException,
+            WordNotFoundException, UnexpectedWhiteSpaceException {
+        MnemonicValidator.ofWordList(language.wordList()).validate(mnemonic);
+    }
+}
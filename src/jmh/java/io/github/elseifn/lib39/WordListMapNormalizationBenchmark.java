@@ -0,0 +1,78 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@State(Scope.Thread)
+public class WordListMapNormalizationBenchmark {
+
+    @Param({"ENGLISH", "FRENCH", "JAPANESE", "SPANISH"})
+    public Language language;
+
+    private WordListMapNormalization normalization;
+    private String[] words;
+    private StringBuilder[] wordBuilders;
+
+    @Setup
+    public void setup() {
+        normalization = new WordListMapNormalization(language.wordList());
+        final List<String> all = new ArrayList<>();
+        for (final Language.Vector vector : language.vectors()) {
+            all.addAll(vector.words(language.wordList()));
+        }
+        words = all.toArray(new String[0]);
+        wordBuilders = new StringBuilder[words.length];
+        for (int i = 0; i < words.length; i++) {
+            wordBuilders[i] = new StringBuilder(words[i]);
+        }
+    }
+
+    /**
+     * Each operation normalizes every word of every test vector of the language.
+     */
+    @Benchmark
+    public void normalizeStrings(final Blackhole blackhole) {
+        for (final String word : words) {
+            blackhole.consume(normalization.normalize(word));
+        }
+    }
+
+    @Benchmark
+    public void normalizeStringBuilders(final Blackhole blackhole) {
+        for (final StringBuilder word : wordBuilders) {
+            blackhole.consume(normalization.normalize(word));
+        }
+    }
+
+    @Benchmark
+    public WordListMapNormalization create() {
+        return new WordListMapNormalization(language.wordList());
+    }
+}
@@ -14,7 +14,15 @@ import java.util.Arrays;
 public final class Bip39 {
 
     private static final byte[] fixedSalt = getUtf8Bytes("mnemonic");
-    private static SecretKeyFactory skf = getPbkdf2WithHmacSHA512();
+    /**
+     * {@link SecretKeyFactory} is not guaranteed to be thread safe, so each thread gets its own.
+     */
+    private static final ThreadLocal<SecretKeyFactory> skf = new ThreadLocal<SecretKeyFactory>() {
+        @Override
+        protected SecretKeyFactory initialValue() {
+            return getPbkdf2WithHmacSHA512();
+        }
+    };
 
 
     public static byte[] getSeed(String mnemonic, String passphrase) {
@@ -30,7 +38,7 @@ public final class Bip39 {
         clear(salt);
 
         try {
-            return skf.generateSecret(spec).getEncoded();
+            return skf.get().generateSecret(spec).getEncoded();
         } catch (InvalidKeySpecException e) {
             throw new RuntimeException(e);
         } finally {
@@ -0,0 +1,205 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import java.nio.CharBuffer;
+import java.text.Normalizer;
+import java.util.Arrays;
+
+/**
+ * NFKD normalization into a caller supplied {@code char[]}, so that secrets such as mnemonics and passphrases can be
+ * normalized without creating {@link String}s, and the result wiped after use.
+ * <p>
+ * Decompositions come from a table generated from the JDK's Unicode data at build time, Hangul syllables decompose
+ * algorithmically, and non-starters are put in canonical order. Results equal
+ * {@link Normalizer#normalize(CharSequence, Normalizer.Form)}. Input containing surrogate pairs is the only case
+ * handed to {@link Normalizer}, and so copied into {@link String}s.
+ */
+public enum CharArrayNFKDNormalizer implements NFKDNormalizer {
+    INSTANCE;
+
+    /**
+     * The most chars any one char normalizes to.
+     */
+    public static final int MAX_EXPANSION = 18;
+
+    private static final char HANGUL_S_BASE = '\uAC00';
+    private static final char HANGUL_L_BASE = '\u1100';
+    private static final char HANGUL_V_BASE = '\u1161';
+    private static final char HANGUL_T_BASE = '\u11A7';
+    private static final int HANGUL_T_COUNT = 28;
+    private static final int HANGUL_N_COUNT = 21 * HANGUL_T_COUNT;
+    private static final int HANGUL_S_COUNT = 19 * HANGUL_N_COUNT;
+
+    private static final class TableHolder {
+        static final NFKDTable TABLE = NFKDTable.load();
+    }
+
+    /**
+     * @param length Length of the input.
+     * @return A destination length that any input of that length normalizes into.
+     * @throws IllegalArgumentException If that length does not fit in an int.
+     */
+    public static int maxNormalizedLength(final int length) {
+        final long max = (long) length * MAX_EXPANSION;
+        if (max > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Input of " + length + " chars is too long to normalize into an array");
+        return (int) max;
+    }
+
+    /**
+     * Normalize into a destination array.
+     *
+     * @param source      The chars to normalize.
+     * @param destination Where to write the normalized chars, from index 0.
+     * @return Number of chars written, or -1 if the destination is too small, in which case it is left cleared.
+     */
+    public int normalize(final CharSequence source, final char[] destination) {
+        final NFKDTable table = TableHolder.TABLE;
+        final int length = source.length();
+        int written = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = source.charAt(i);
+            if (Character.isSurrogate(c))
+                return normalizeWithJdk(source, destination, written);
+            written = decompose(table, c, destination, written);
+            if (written < 0)
+                return -1;
+        }
+        canonicalOrder(table, destination, written);
+        return written;
+    }
+
+    /**
+     * Normalize into a destination array.
+     *
+     * @param source      The chars to normalize.
+     * @param offset      Position of the first char to normalize.
+     * @param length      Number of chars to normalize.
+     * @param destination Where to write the normalized chars, from index 0.
+     * @return Number of chars written, or -1 if the destination is too small, in which case it is left cleared.
+     */
+    public int normalize(final char[] source, final int offset, final int length, final char[] destination) {
+        final NFKDTable table = TableHolder.TABLE;
+        int written = 0;
+        for (int i = offset; i < offset + length; i++) {
+            final char c = source[i];
+            if (Character.isSurrogate(c))
+                return normalizeWithJdk(CharBuffer.wrap(source, offset, length), destination, written);
+            written = decompose(table, c, destination, written);
+            if (written < 0)
+                return -1;
+        }
+        canonicalOrder(table, destination, written);
+        return written;
+    }
+
+    @Override
+    public String normalize(final CharSequence charSequence) {
+        final char[] normalized = normalizeToArray(charSequence);
+        try {
+            return new String(normalized);
+        } finally {
+            Arrays.fill(normalized, '\0');
+        }
+    }
+
+    /**
+     * @param charSequence The chars to normalize.
+     * @return A new array of exactly the normalized chars, the caller should clear it after use.
+     * @throws IllegalArgumentException If the input is too long to normalize into an array.
+     */
+    char[] normalizeToArray(final CharSequence charSequence) {
+        final char[] buffer = new char[maxNormalizedLength(charSequence.length())];
+        try {
+            final int length = normalize(charSequence, buffer);
+            if (length < 0)
+                throw new IllegalStateException("Normalized form does not fit " + buffer.length + " chars");
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            Arrays.fill(buffer, '\0');
+        }
+    }
+
+    static boolean isHangulSyllable(final char c) {
+        return c >= HANGUL_S_BASE && c < HANGUL_S_BASE + HANGUL_S_COUNT;
+    }
+
+    private static int decompose(final NFKDTable table, final char c, final char[] destination, final int written) {
+        if (isHangulSyllable(c)) {
+            final int s = c - HANGUL_S_BASE;
+            final int t = s % HANGUL_T_COUNT;
+            final int count = t == 0 ? 2 : 3;
+            if (written + count > destination.length)
+                return overflow(destination, written);
+            destination[written] = (char) (HANGUL_L_BASE + s / HANGUL_N_COUNT);
+            destination[written + 1] = (char) (HANGUL_V_BASE + (s % HANGUL_N_COUNT) / HANGUL_T_COUNT);
+            if (t != 0)
+                destination[written + 2] = (char) (HANGUL_T_BASE + t);
+            return written + count;
+        }
+        final int offset = NFKDTable.decompositionOffset(table.entry(c));
+        if (offset < 0) {
+            if (written == destination.length)
+                return overflow(destination, written);
+            destination[written] = c;
+            return written + 1;
+        }
+        final char[] data = table.data();
+        final int count = data[offset];
+        if (written + count > destination.length)
+            return overflow(destination, written);
+        System.arraycopy(data, offset + 1, destination, written, count);
+        return written + count;
+    }
+
+    private static int overflow(final char[] destination, final int written) {
+        Arrays.fill(destination, 0, written, '\0');
+        return -1;
+    }
+
+    /**
+     * Stable insertion sort of each run of non-starters by rank, runs are short so this is close to a single pass.
+     */
+    private static void canonicalOrder(final NFKDTable table, final char[] chars, final int length) {
+        for (int i = 1; i < length; i++) {
+            final char c = chars[i];
+            final int rank = NFKDTable.rank(table.entry(c));
+            if (rank == 0)
+                continue;
+            int j = i;
+            while (j > 0 && NFKDTable.rank(table.entry(chars[j - 1])) > rank) {
+                chars[j] = chars[j - 1];
+                j--;
+            }
+            chars[j] = c;
+        }
+    }
+
+    private static int normalizeWithJdk(final CharSequence source, final char[] destination, final int written) {
+        Arrays.fill(destination, 0, written, '\0');
+        final String normalized = Normalizer.normalize(source, Normalizer.Form.NFKD);
+        if (normalized.length() > destination.length)
+            return -1;
+        normalized.getChars(0, normalized.length(), destination, 0);
+        return normalized.length();
+    }
+}
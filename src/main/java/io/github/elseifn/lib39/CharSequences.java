@@ -0,0 +1,102 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+/**
+ * Content based hashing and comparison of {@link CharSequence}s against packed char arrays.
+ */
+final class CharSequences {
+
+    private CharSequences() {
+    }
+
+    /**
+     * @return Same value as {@link String#hashCode()} would for the same content, using the cached value for Strings.
+     */
+    static int hash(final CharSequence charSequence) {
+        if (charSequence instanceof String)
+            return charSequence.hashCode();
+        int hash = 0;
+        final int length = charSequence.length();
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + charSequence.charAt(i);
+        }
+        return hash;
+    }
+
+    static int hash(final char[] chars, final int offset, final int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        return hash;
+    }
+
+    static boolean isAscii(final CharSequence charSequence) {
+        final int length = charSequence.length();
+        for (int i = 0; i < length; i++) {
+            if (charSequence.charAt(i) >= 0x80)
+                return false;
+        }
+        return true;
+    }
+
+    static boolean regionEquals(final CharSequence charSequence,
+                                final char[] chars,
+                                final int offset,
+                                final int length) {
+        if (charSequence.length() != length)
+            return false;
+        for (int i = 0; i < length; i++) {
+            if (charSequence.charAt(i) != chars[offset + i])
+                return false;
+        }
+        return true;
+    }
+
+    static boolean regionEquals(final char[] chars1, final int offset1, final int length1,
+                                final char[] chars2, final int offset2, final int length2) {
+        if (length1 != length2)
+            return false;
+        for (int i = 0; i < length1; i++) {
+            if (chars1[offset1 + i] != chars2[offset2 + i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Same order as {@link CharSequenceComparators#ALPHABETICAL}.
+     */
+    static int compare(final CharSequence charSequence,
+                       final char[] chars,
+                       final int offset,
+                       final int length) {
+        final int length1 = charSequence.length();
+        final int min = Math.min(length1, length);
+        for (int i = 0; i < min; i++) {
+            final int compare = Character.compare(charSequence.charAt(i), chars[offset + i]);
+            if (compare != 0) return compare;
+        }
+        return Integer.compare(length1, length);
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shares one calculation between concurrent requests for the same seed, such as retries or parallel scans of one
+ * wallet, so that only one of them runs PBKDF2.
+ * <p>
+ * Requests are matched by an HMAC-SHA256, under a random key made for each instance, of the normalized mnemonic and
+ * passphrase. Each caller gets its own copy of the seed. Once the last caller waiting on a calculation has its copy
+ * the shared seed is cleared, and nothing is kept between calculations, for that use a {@link SeedCache}.
+ */
+public final class CoalescingSeedCalculator {
+
+    public enum Counter {
+        /**
+         * Seeds calculated.
+         */
+        CALCULATED,
+        /**
+         * Requests that shared a calculation already in flight rather than starting one.
+         */
+        COALESCED
+    }
+
+    private final SeedCalculator seedCalculator;
+    private final SeedKey.Hasher keys = new SeedKey.Hasher();
+    private final ConcurrentMap<SeedKey, Flight> inFlight = new ConcurrentHashMap<>();
+    private final StripedCounter[] counters = new StripedCounter[Counter.values().length];
+
+    /**
+     * @param seedCalculator Calculates the seeds.
+     */
+    public CoalescingSeedCalculator(final SeedCalculator seedCalculator) {
+        this.seedCalculator = seedCalculator;
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new StripedCounter();
+        }
+    }
+
+    /**
+     * Calculate the seed as {@link SeedCalculator#calculateSeed(String, String)}, or wait for the same calculation
+     * already in flight.
+     *
+     * @param mnemonic   The memorable list of words
+     * @param passphrase An optional passphrase, use "" if not required
+     * @return a seed for HD wallet generation, the caller's own copy
+     */
+    public byte[] calculateSeed(final String mnemonic, final String passphrase) {
+        return calculateSeed((CharSequence) mnemonic, passphrase);
+    }
+
+    /**
+     * Calculate the seed as {@link SeedCalculator#calculateSeed(char[], char[])}, or wait for the same calculation
+     * already in flight.
+     *
+     * @param mnemonic   The memorable list of words
+     * @param passphrase An optional passphrase, use an empty array if not required
+     * @return a seed for HD wallet generation, the caller's own copy
+     */
+    public byte[] calculateSeed(final char[] mnemonic, final char[] passphrase) {
+        return calculateSeed(CharBuffer.wrap(mnemonic), CharBuffer.wrap(passphrase));
+    }
+
+    /**
+     * @param counter The counter.
+     * @return Its current total.
+     */
+    public long getCount(final Counter counter) {
+        return counters[counter.ordinal()].sum();
+    }
+
+    /**
+     * @return Number of calculations in flight.
+     */
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private byte[] calculateSeed(final CharSequence mnemonic, final CharSequence passphrase) {
+        final char[] normalizedMnemonic = CharArrayNFKDNormalizer.INSTANCE.normalizeToArray(mnemonic);
+        try {
+            final SeedKey key = keys.key(normalizedMnemonic, passphrase);
+            final Flight flight = new Flight();
+            while (true) {
+                final Flight existing = inFlight.putIfAbsent(key, flight);
+                if (existing == null)
+                    return lead(key, flight, normalizedMnemonic, passphrase);
+                if (existing.join()) {
+                    counters[Counter.COALESCED.ordinal()].increment();
+                    return existing.follow();
+                }
+                // finished and cleared between being found and joined, it is no longer in the map
+            }
+        } finally {
+            Arrays.fill(normalizedMnemonic, '\0');
+        }
+    }
+
+    private byte[] lead(final SeedKey key, final Flight flight, final char[] normalizedMnemonic,
+                        final CharSequence passphrase) {
+        byte[] seed = null;
+        try {
+            seed = seedCalculator.calculateSeed(normalizedMnemonic, passphrase, null);
+            counters[Counter.CALCULATED.ordinal()].increment();
+            return seed.clone();
+        } catch (final RuntimeException | Error e) {
+            flight.fail(e);
+            throw e;
+        } finally {
+            if (seed != null)
+                flight.complete(seed);
+            inFlight.remove(key, flight);
+            flight.release();
+        }
+    }
+
+    /**
+     * One calculation and the callers sharing it, counting the leader. The seed is cleared when the last of them
+     * releases it, after which no more can join.
+     */
+    private static final class Flight {
+        private int callers = 1;
+        private boolean done;
+        private boolean cleared;
+        private byte[] seed;
+        private Throwable failure;
+
+        synchronized boolean join() {
+            if (cleared)
+                return false;
+            callers++;
+            return true;
+        }
+
+        synchronized void complete(final byte[] seed) {
+            this.seed = seed;
+            done = true;
+            notifyAll();
+        }
+
+        synchronized void fail(final Throwable failure) {
+            this.failure = failure;
+            done = true;
+            notifyAll();
+        }
+
+        /**
+         * Waits for the calculation, without being interrupted as it is bounded and short, and releases it.
+         *
+         * @return A copy of the seed.
+         */
+        byte[] follow() {
+            try {
+                return copy();
+            } finally {
+                release();
+            }
+        }
+
+        private synchronized byte[] copy() {
+            boolean interrupted = false;
+            while (!done) {
+                try {
+                    wait();
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted)
+                Thread.currentThread().interrupt();
+            if (failure != null)
+                throw new IllegalStateException("Shared seed calculation failed", failure);
+            return seed.clone();
+        }
+
+        synchronized void release() {
+            if (--callers == 0 && done) {
+                cleared = true;
+                if (seed != null)
+                    Arrays.fill(seed, (byte) 0);
+            }
+        }
+    }
+}
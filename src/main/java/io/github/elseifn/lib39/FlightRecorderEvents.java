@@ -0,0 +1,309 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Java Flight Recorder events for seed calculation, mnemonic validation and word list indexing.
+ * <p>
+ * The events are defined at runtime through {@code jdk.jfr.EventFactory}, found reflectively so that this library
+ * still runs on Java 7 and on runtimes without JFR, where {@link #begin} always returns null. Until the flight
+ * recorder is initialized {@link #begin} checks whether it has been at most every
+ * {@link #INITIALIZED_CHECK_INTERVAL_MILLIS}, so events start within that time of the first recording. After that
+ * while no recording enables an event type it is a single enabled check, and nothing is allocated either way.
+ * <p>
+ * Events carry only the word count, language, PBKDF2 implementation and outcome, never words, passphrases, entropy
+ * or seeds.
+ */
+final class FlightRecorderEvents {
+
+    static final String SUCCESS = "success";
+    static final String FAILURE = "failure";
+
+    enum Type {
+        SEED_CALCULATION("io.github.elseifn.lib39.SeedCalculation", "Seed Calculation",
+                "BIP39 seed calculation, passphrase normalization and PBKDF2"),
+        MNEMONIC_VALIDATION("io.github.elseifn.lib39.MnemonicValidation", "Mnemonic Validation",
+                "BIP39 mnemonic validation"),
+        WORD_LIST_INDEX("io.github.elseifn.lib39.WordListIndex", "Word List Index",
+                "Construction of the index for a word list, outcome is where it came from");
+
+        private final String name;
+        private final String label;
+        private final String description;
+        /**
+         * Handles to create an event and check if enabled, set by {@link #define} once the flight recorder has been
+         * initialized, or empty if the event cannot be defined.
+         */
+        private volatile MethodHandle[] handles;
+
+        Type(final String name, final String label, final String description) {
+            this.name = name;
+            this.label = label;
+            this.description = description;
+        }
+    }
+
+    private static final int WORD_COUNT = 0;
+    private static final int LANGUAGE = 1;
+    private static final int PBKDF2 = 2;
+    private static final int OUTCOME = 3;
+
+    /**
+     * How often, at most, to ask whether the flight recorder has been initialized, as it is asked on every seed
+     * calculation and validation until it has, and it is synchronized.
+     */
+    static final long INITIALIZED_CHECK_INTERVAL_MILLIS = 100;
+    private static final long INITIALIZED_CHECK_INTERVAL_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(INITIALIZED_CHECK_INTERVAL_MILLIS);
+
+    private static final MethodHandle[] UNAVAILABLE = new MethodHandle[0];
+    /**
+     * {@code jdk.jfr.FlightRecorder.isInitialized()}, or null if there is no flight recorder. Only called until it
+     * returns true, and then at most every {@link #INITIALIZED_CHECK_INTERVAL_MILLIS}.
+     */
+    private static final MethodHandle IS_INITIALIZED = findIsInitialized();
+    private static volatile boolean initialized;
+    private static volatile long nextInitializedCheck = System.nanoTime();
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * @param type The event to start timing.
+     * @return The started event, or null if JFR is unavailable or no recording has this event type enabled.
+     */
+    static Object begin(final Type type) {
+        MethodHandle[] handles = type.handles;
+        if (handles == null && (handles = define(type)) == null)
+            return null;
+        if (handles == UNAVAILABLE)
+            return null;
+        try {
+            if (!(boolean) handles[1].invokeExact())
+                return null;
+            final Object event = (Object) handles[0].invokeExact();
+            Jfr.API.begin.invokeExact(event);
+            return event;
+        } catch (final Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Defining an event type starts parts of the flight recorder, which takes long enough to matter at startup, so it
+     * is put off until the flight recorder has been initialized, by a recording or by another event.
+     *
+     * @return The handles for the type, or null if not yet defined.
+     */
+    private static MethodHandle[] define(final Type type) {
+        if (!isInitialized())
+            return null;
+        synchronized (type) {
+            if (type.handles == null) {
+                final MethodHandle[] handles = Jfr.API == null ? null : Jfr.API.define(type);
+                type.handles = handles == null ? UNAVAILABLE : handles;
+            }
+            return type.handles;
+        }
+    }
+
+    private static boolean isInitialized() {
+        if (initialized)
+            return true;
+        if (IS_INITIALIZED == null)
+            return false;
+        final long now = System.nanoTime();
+        if (now - nextInitializedCheck < 0)
+            return false;
+        nextInitializedCheck = now + INITIALIZED_CHECK_INTERVAL_NANOS;
+        try {
+            return initialized = (boolean) IS_INITIALIZED.invokeExact();
+        } catch (final Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static MethodHandle findIsInitialized() {
+        try {
+            final Class<?> flightRecorder =
+                    Class.forName("jdk.jfr.FlightRecorder", false, ClassLoader.getSystemClassLoader());
+            return MethodHandles.publicLookup()
+                    .findStatic(flightRecorder, "isInitialized", MethodType.methodType(boolean.class));
+        } catch (final ReflectiveOperationException | LinkageError | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param event     An event from {@link #begin}, may be null in which case nothing happens.
+     * @param wordCount Number of words in the mnemonic, 0 if not applicable.
+     * @param language  Word list name, may be null.
+     * @param pbkdf2    PBKDF2 implementation name, may be null.
+     * @param outcome   What happened, for example {@link #SUCCESS}.
+     */
+    static void commit(final Object event, final int wordCount, final String language, final String pbkdf2,
+                       final String outcome) {
+        if (event == null)
+            return;
+        try {
+            final Jfr jfr = Jfr.API;
+            jfr.end.invokeExact(event);
+            jfr.set.invokeExact(event, WORD_COUNT, (Object) wordCount);
+            jfr.set.invokeExact(event, LANGUAGE, (Object) language);
+            jfr.set.invokeExact(event, PBKDF2, (Object) pbkdf2);
+            jfr.set.invokeExact(event, OUTCOME, (Object) outcome);
+            jfr.commit.invokeExact(event);
+        } catch (final Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * @param wordList Any word list.
+     * @return A name for the language of the word list, as carried by events.
+     */
+    static String language(final WordList wordList) {
+        final Class<?> type = wordList.getClass();
+        final String simpleName = type.getSimpleName();
+        return simpleName.isEmpty() ? type.getName() : simpleName;
+    }
+
+    /**
+     * @param implementation Any PBKDF2 implementation.
+     * @return A name for the implementation, as carried by events.
+     */
+    static String implementation(final Object implementation) {
+        return implementation.getClass().getSimpleName();
+    }
+
+    private static RuntimeException rethrow(final Throwable e) {
+        if (e instanceof RuntimeException)
+            return (RuntimeException) e;
+        if (e instanceof Error)
+            throw (Error) e;
+        return new IllegalStateException(e);
+    }
+
+    /**
+     * Handles on the parts of the {@code jdk.jfr} API that are used, found on first use of {@link #API}.
+     */
+    private static final class Jfr {
+        static final Jfr API = find();
+
+        private final Class<?> eventFactoryClass;
+        private final Constructor<?> annotationElement;
+        private final Constructor<?> valueDescriptor;
+        private final Class<? extends Annotation> nameAnnotation;
+        private final Class<? extends Annotation> labelAnnotation;
+        private final Class<? extends Annotation> descriptionAnnotation;
+        private final Class<? extends Annotation> categoryAnnotation;
+        private final MethodHandle begin;
+        private final MethodHandle end;
+        private final MethodHandle set;
+        private final MethodHandle commit;
+
+        private Jfr() throws ReflectiveOperationException {
+            final ClassLoader loader = ClassLoader.getSystemClassLoader();
+            eventFactoryClass = Class.forName("jdk.jfr.EventFactory", false, loader);
+            final Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement", false, loader);
+            annotationElement = annotationElementClass.getConstructor(Class.class, Object.class);
+            valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor", false, loader)
+                    .getConstructor(Class.class, String.class, List.class);
+            nameAnnotation = annotation("jdk.jfr.Name", loader);
+            labelAnnotation = annotation("jdk.jfr.Label", loader);
+            descriptionAnnotation = annotation("jdk.jfr.Description", loader);
+            categoryAnnotation = annotation("jdk.jfr.Category", loader);
+            final Class<?> eventClass = Class.forName("jdk.jfr.Event", false, loader);
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final MethodType objectToVoid = MethodType.methodType(void.class, Object.class);
+            begin = lookup.findVirtual(eventClass, "begin", MethodType.methodType(void.class))
+                    .asType(objectToVoid);
+            end = lookup.findVirtual(eventClass, "end", MethodType.methodType(void.class))
+                    .asType(objectToVoid);
+            commit = lookup.findVirtual(eventClass, "commit", MethodType.methodType(void.class))
+                    .asType(objectToVoid);
+            set = lookup.findVirtual(eventClass, "set", MethodType.methodType(void.class, int.class, Object.class))
+                    .asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+        }
+
+        private static Jfr find() {
+            try {
+                return new Jfr();
+            } catch (final ReflectiveOperationException | LinkageError | SecurityException e) {
+                return null;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Class<? extends Annotation> annotation(final String name, final ClassLoader loader)
+                throws ClassNotFoundException {
+            return (Class<? extends Annotation>) Class.forName(name, false, loader);
+        }
+
+        /**
+         * @return Handles to create an event and check if enabled, or null if the event could not be defined.
+         */
+        MethodHandle[] define(final Type type) {
+            try {
+                final List<Object> annotations = Arrays.asList(
+                        annotationElement.newInstance(nameAnnotation, type.name),
+                        annotationElement.newInstance(labelAnnotation, type.label),
+                        annotationElement.newInstance(descriptionAnnotation, type.description),
+                        annotationElement.newInstance(categoryAnnotation, new String[]{"BIP39"}));
+                final List<Object> fields = new ArrayList<>(4);
+                fields.add(field(int.class, "wordCount", "Word Count"));
+                fields.add(field(String.class, "language", "Language"));
+                fields.add(field(String.class, "pbkdf2", "PBKDF2 Implementation"));
+                fields.add(field(String.class, "outcome", "Outcome"));
+                final Object factory = eventFactoryClass.getMethod("create", List.class, List.class)
+                        .invoke(null, annotations, fields);
+                final Object eventType = eventFactoryClass.getMethod("getEventType").invoke(factory);
+                final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                final MethodHandle newEvent = lookup.unreflect(eventFactoryClass.getMethod("newEvent"))
+                        .bindTo(factory)
+                        .asType(MethodType.methodType(Object.class));
+                final MethodHandle isEnabled = lookup.unreflect(eventType.getClass().getMethod("isEnabled"))
+                        .bindTo(eventType);
+                return new MethodHandle[]{newEvent, isEnabled};
+            } catch (final ReflectiveOperationException | LinkageError | SecurityException e) {
+                return null;
+            }
+        }
+
+        private Object field(final Class<?> fieldType, final String name, final String label)
+                throws ReflectiveOperationException {
+            final List<Object> annotations =
+                    Collections.singletonList(annotationElement.newInstance(labelAnnotation, label));
+            return valueDescriptor.newInstance(fieldType, name, annotations);
+        }
+    }
+}
@@ -0,0 +1,478 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Converts files of hex entropy, one entropy per line, to mnemonics or word indexes, one per line.
+ * <p>
+ * The input is memory mapped and split into chunks that are converted in parallel and written in order. Bad lines do
+ * not stop the conversion, they are reported in the {@link Result} and written as an empty line, so line numbers in the
+ * output always match the input.
+ */
+public final class HexEntropyFileConverter {
+
+    public enum Output {
+        /**
+         * The words of the mnemonic separated by the word list's space.
+         */
+        MNEMONIC,
+        /**
+         * The word list indexes [0..2047] of the mnemonic separated by ' '.
+         */
+        WORD_INDEXES
+    }
+
+    public enum Problem {
+        EMPTY_LINE,
+        ODD_LENGTH,
+        INVALID_HEX_CHARACTER,
+        ENTROPY_TOO_LOW,
+        ENTROPY_TOO_HIGH,
+        ENTROPY_NOT_MULTIPLE_OF_32_BITS
+    }
+
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+    private static final long SEGMENT_SIZE = 1 << 28;
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final byte[] HEX_VALUES = hexValues();
+
+    private final WordList wordList;
+    private final Output output;
+    private final int threads;
+    private final int chunkSize;
+
+    public HexEntropyFileConverter(final WordList wordList) {
+        this(wordList, Output.MNEMONIC, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    private HexEntropyFileConverter(final WordList wordList, final Output output, final int threads, final int chunkSize) {
+        this.wordList = wordList;
+        this.output = output;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    public HexEntropyFileConverter withOutput(final Output output) {
+        return new HexEntropyFileConverter(wordList, output, threads, chunkSize);
+    }
+
+    /**
+     * @param threads Number of threads to convert with, defaults to the number of available processors.
+     * @return A new converter with the thread count.
+     */
+    public HexEntropyFileConverter withThreads(final int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("At least one thread required");
+        return new HexEntropyFileConverter(wordList, output, threads, chunkSize);
+    }
+
+    /**
+     * @param chunkSize Approximate number of input bytes converted per task, defaults to 1MiB.
+     * @return A new converter with the chunk size.
+     */
+    public HexEntropyFileConverter withChunkSize(final int chunkSize) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("Chunk size must be positive");
+        return new HexEntropyFileConverter(wordList, output, threads, chunkSize);
+    }
+
+    /**
+     * Convert the input file and write to a new or truncated output file.
+     *
+     * @param input  File of hex entropy, one per line
+     * @param output Where to write
+     * @return Count of lines converted and the lines that could not be
+     * @throws IOException On failure to read or write
+     */
+    public Result convert(final Path input, final Path output) throws IOException {
+        try (final FileChannel out = FileChannel.open(output,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            return convert(input, out);
+        }
+    }
+
+    /**
+     * Convert the input file and write to the channel, which is not closed.
+     *
+     * @param input  File of hex entropy, one per line
+     * @param output Where to write
+     * @return Count of lines converted and the lines that could not be
+     * @throws IOException On failure to read or write
+     */
+    public Result convert(final Path input, final WritableByteChannel output) throws IOException {
+        final byte[][] words = encodedWords();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, new DaemonThreadFactory());
+        try (final FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            final Writer writer = new Writer(output, threads * 4);
+            final long size = in.size();
+            long position = 0;
+            while (position < size) {
+                final long mapLength = Math.min(SEGMENT_SIZE, size - position);
+                final MappedByteBuffer segment = in.map(FileChannel.MapMode.READ_ONLY, position, mapLength);
+                final boolean last = position + mapLength == size;
+                final int limit = last ? (int) mapLength : lastNewLine(segment) + 1;
+                if (limit == 0) {
+                    writer.add(ChunkResult.singleError(Problem.ENTROPY_TOO_HIGH));
+                    position = skipLine(in, position + mapLength);
+                    continue;
+                }
+                for (int start = 0; start < limit; ) {
+                    final int end = chunkEnd(segment, start, limit);
+                    writer.add(executor.submit(new Chunk(segment.duplicate(), start, end, words)));
+                    start = end;
+                }
+                position += limit;
+            }
+            writer.flush();
+            return writer.result();
+        } finally {
+            executor.shutdownNow();
+            for (final byte[] word : words)
+                Arrays.fill(word, (byte) 0);
+        }
+    }
+
+    private byte[][] encodedWords() {
+        final byte[][] words = new byte[(1 << 11) + 1][];
+        for (int i = 0; i < 1 << 11; i++) {
+            words[i] = output == Output.MNEMONIC
+                    ? wordList.getWord(i).getBytes(UTF8)
+                    : String.valueOf(i).getBytes(UTF8);
+        }
+        words[1 << 11] = output == Output.MNEMONIC
+                ? String.valueOf(wordList.getSpace()).getBytes(UTF8)
+                : new byte[]{' '};
+        return words;
+    }
+
+    private int chunkEnd(final ByteBuffer segment, final int start, final int limit) {
+        if (limit - start <= chunkSize)
+            return limit;
+        for (int i = start + chunkSize - 1; i < limit; i++) {
+            if (segment.get(i) == '\n')
+                return i + 1;
+        }
+        return limit;
+    }
+
+    private static int lastNewLine(final ByteBuffer segment) {
+        for (int i = segment.limit() - 1; i >= 0; i--) {
+            if (segment.get(i) == '\n')
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * For a line longer than a whole segment, which is certainly too long to be entropy.
+     */
+    private static long skipLine(final FileChannel in, long position) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(8192);
+        while (true) {
+            buffer.clear();
+            final int read = in.read(buffer, position);
+            if (read < 0)
+                return position;
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n')
+                    return position + i + 1;
+            }
+            position += read;
+        }
+    }
+
+    private static byte[] hexValues() {
+        final byte[] values = new byte[256];
+        Arrays.fill(values, (byte) -1);
+        for (int c = '0'; c <= '9'; c++) values[c] = (byte) (c - '0');
+        for (int c = 'a'; c <= 'f'; c++) values[c] = (byte) (c - 'a' + 10);
+        for (int c = 'A'; c <= 'F'; c++) values[c] = (byte) (c - 'A' + 10);
+        return values;
+    }
+
+    private static final class Chunk implements Callable<ChunkResult> {
+        private final ByteBuffer segment;
+        private final int start;
+        private final int end;
+        private final byte[][] words;
+
+        Chunk(final ByteBuffer segment, final int start, final int end, final byte[][] words) {
+            this.segment = segment;
+            this.start = start;
+            this.end = end;
+            this.words = words;
+        }
+
+        @Override
+        public ChunkResult call() {
+            final ChunkResult result = new ChunkResult((end - start) * 4);
+            final byte[][] entropies = new byte[5][];
+            final int[][] wordIndexes = new int[5][];
+            for (final Words length : Words.values()) {
+                entropies[length.ordinal()] = new byte[length.byteLength()];
+                wordIndexes[length.ordinal()] = new int[length.wordCount()];
+            }
+            try {
+                int lineStart = start;
+                while (lineStart < end) {
+                    int lineEnd = lineStart;
+                    while (lineEnd < end && segment.get(lineEnd) != '\n') lineEnd++;
+                    final int next = lineEnd + 1;
+                    if (lineEnd > lineStart && segment.get(lineEnd - 1) == '\r') lineEnd--;
+                    final Problem problem = convertLine(lineStart, lineEnd, entropies, wordIndexes, result);
+                    if (problem != null)
+                        result.error(problem);
+                    result.newLine();
+                    lineStart = next;
+                }
+                return result;
+            } finally {
+                for (int i = 0; i < entropies.length; i++) {
+                    Arrays.fill(entropies[i], (byte) 0);
+                    Arrays.fill(wordIndexes[i], 0);
+                }
+            }
+        }
+
+        private Problem convertLine(final int lineStart,
+                                    final int lineEnd,
+                                    final byte[][] entropies,
+                                    final int[][] wordIndexes,
+                                    final ChunkResult result) {
+            final int length = lineEnd - lineStart;
+            if (length == 0)
+                return Problem.EMPTY_LINE;
+            if (length % 2 != 0)
+                return Problem.ODD_LENGTH;
+            final int ent = length * 4;
+            if (ent < 128)
+                return Problem.ENTROPY_TOO_LOW;
+            if (ent > 256)
+                return Problem.ENTROPY_TOO_HIGH;
+            if (ent % 32 > 0)
+                return Problem.ENTROPY_NOT_MULTIPLE_OF_32_BITS;
+            final int size = (ent - 128) / 32;
+            final byte[] entropy = entropies[size];
+            int invalid = 0;
+            for (int i = lineStart, j = 0; i < lineEnd; i += 2, j++) {
+                final int high = HEX_VALUES[segment.get(i) & 0xff];
+                final int low = HEX_VALUES[segment.get(i + 1) & 0xff];
+                invalid |= high | low;
+                entropy[j] = (byte) (high << 4 | low);
+            }
+            if (invalid < 0)
+                return Problem.INVALID_HEX_CHARACTER;
+            final int[] indexes = wordIndexes[size];
+            MnemonicGenerator.wordIndexes(entropy, indexes);
+            for (int i = 0; i < indexes.length; i++) {
+                if (i > 0) result.write(words[1 << 11]);
+                result.write(words[indexes[i]]);
+            }
+            return null;
+        }
+    }
+
+    private static final class ChunkResult {
+        private byte[] bytes;
+        private int length;
+        private int lines;
+        private int[] errorLines = new int[0];
+        private Problem[] errorProblems = new Problem[0];
+        private int errors;
+
+        ChunkResult(final int capacity) {
+            bytes = new byte[Math.max(capacity, 16)];
+        }
+
+        static ChunkResult singleError(final Problem problem) {
+            final ChunkResult result = new ChunkResult(1);
+            result.error(problem);
+            result.newLine();
+            return result;
+        }
+
+        void write(final byte[] value) {
+            if (length + value.length > bytes.length) {
+                final byte[] grown = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + value.length));
+                Arrays.fill(bytes, (byte) 0);
+                bytes = grown;
+            }
+            System.arraycopy(value, 0, bytes, length, value.length);
+            length += value.length;
+        }
+
+        void newLine() {
+            write(NEW_LINE);
+            lines++;
+        }
+
+        void error(final Problem problem) {
+            if (errors == errorLines.length) {
+                errorLines = Arrays.copyOf(errorLines, Math.max(8, errors * 2));
+                errorProblems = Arrays.copyOf(errorProblems, errorLines.length);
+            }
+            errorLines[errors] = lines;
+            errorProblems[errors] = problem;
+            errors++;
+        }
+
+        private static final byte[] NEW_LINE = {'\n'};
+    }
+
+    private static final class Writer {
+        private final WritableByteChannel channel;
+        private final int maxPending;
+        private final ArrayDeque<Future<ChunkResult>> pending = new ArrayDeque<>();
+        private final List<LineError> errors = new ArrayList<>();
+        private long lines;
+        private long converted;
+
+        Writer(final WritableByteChannel channel, final int maxPending) {
+            this.channel = channel;
+            this.maxPending = maxPending;
+        }
+
+        void add(final Future<ChunkResult> chunk) throws IOException {
+            pending.add(chunk);
+            while (pending.size() > maxPending)
+                write(await(pending.remove()));
+        }
+
+        void add(final ChunkResult chunk) throws IOException {
+            flush();
+            write(chunk);
+        }
+
+        void flush() throws IOException {
+            while (!pending.isEmpty())
+                write(await(pending.remove()));
+        }
+
+        private void write(final ChunkResult chunk) throws IOException {
+            try {
+                final ByteBuffer buffer = ByteBuffer.wrap(chunk.bytes, 0, chunk.length);
+                while (buffer.hasRemaining())
+                    channel.write(buffer);
+            } finally {
+                Arrays.fill(chunk.bytes, (byte) 0);
+            }
+            for (int i = 0; i < chunk.errors; i++)
+                errors.add(new LineError(lines + chunk.errorLines[i] + 1, chunk.errorProblems[i]));
+            lines += chunk.lines;
+            converted += chunk.lines - chunk.errors;
+        }
+
+        Result result() {
+            return new Result(converted, Collections.unmodifiableList(errors));
+        }
+
+        private static ChunkResult await(final Future<ChunkResult> future) throws IOException {
+            try {
+                return future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            } catch (final ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw new IOException(cause);
+            }
+        }
+    }
+
+    public static final class Result {
+        private final long linesConverted;
+        private final List<LineError> errors;
+
+        private Result(final long linesConverted, final List<LineError> errors) {
+            this.linesConverted = linesConverted;
+            this.errors = errors;
+        }
+
+        public long getLinesConverted() {
+            return linesConverted;
+        }
+
+        /**
+         * @return The lines that could not be converted, in line order.
+         */
+        public List<LineError> getErrors() {
+            return errors;
+        }
+    }
+
+    public static final class LineError {
+        private final long lineNumber;
+        private final Problem problem;
+
+        private LineError(final long lineNumber, final Problem problem) {
+            this.lineNumber = lineNumber;
+            this.problem = problem;
+        }
+
+        /**
+         * @return 1-based line number in the input.
+         */
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        public Problem getProblem() {
+            return problem;
+        }
+
+        @Override
+        public String toString() {
+            return "Line " + lineNumber + ": " + problem;
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "HexEntropyFileConverter");
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -23,20 +23,43 @@ package io.github.elseifn.lib39;
 
 import io.github.elseifn.toruntime.CheckedExceptionToRuntime;
 
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.PBEKeySpec;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.util.Arrays;
 
 import static io.github.elseifn.toruntime.CheckedExceptionToRuntime.toRuntime;
 
 /**
  * Not available in all Java implementations, for example will not find the implementation before Android API 26+.
  * See https://developer.android.com/reference/javax/crypto/SecretKeyFactory.html for more details.
+ * <p>
+ * JCA does not promise that a {@link SecretKeyFactory} or {@link MessageDigest} is safe to share between threads, and
+ * some providers synchronize internally, so each thread has its own. {@link #hash(char[], byte[])} uses this thread's
+ * {@link SecretKeyFactory}. Seed calculation writes into buffers through
+ * {@link #hash(char[], int, byte[], int, byte[], int)}, which runs the PBKDF2 loop and HMAC itself on this thread's
+ * {@code SHA-512} {@link MessageDigest}, so that there is no {@link PBEKeySpec} or unwipeable {@link SecretKey} per
+ * seed, and no allocation at all.
  */
-public enum JavaxPBKDF2WithHmacSHA512 implements PBKDF2WithHmacSHA512 {
+public enum JavaxPBKDF2WithHmacSHA512 implements PBKDF2WithHmacSHA512ToBuffer {
     INSTANCE;
 
-    private SecretKeyFactory skf = getPbkdf2WithHmacSHA512();
+    private final ThreadLocal<SecretKeyFactory> skf = new ThreadLocal<SecretKeyFactory>() {
+        @Override
+        protected SecretKeyFactory initialValue() {
+            return getPbkdf2WithHmacSHA512();
+        }
+    };
+
+    private final ThreadLocal<DigestEngine> engine = new ThreadLocal<DigestEngine>() {
+        @Override
+        protected DigestEngine initialValue() {
+            return new DigestEngine();
+        }
+    };
 
     @Override
     public byte[] hash(char[] chars, byte[] salt) {
@@ -46,11 +69,18 @@ public enum JavaxPBKDF2WithHmacSHA512 implements PBKDF2WithHmacSHA512 {
         return encoded;
     }
 
+    @Override
+    public void hash(final char[] chars, final int charsLength, final byte[] salt, final int saltLength,
+                     final byte[] out, final int offset) {
+        engine.get().hash(chars, charsLength, salt, saltLength, out, offset);
+    }
+
     private SecretKey generateSecretKey(final PBEKeySpec spec) {
+        final SecretKeyFactory factory = skf.get();
         return toRuntime(new CheckedExceptionToRuntime.Func<SecretKey>() {
             @Override
             public SecretKey run() throws Exception {
-                return skf.generateSecret(spec);
+                return factory.generateSecret(spec);
             }
         });
     }
@@ -63,4 +93,95 @@ public enum JavaxPBKDF2WithHmacSHA512 implements PBKDF2WithHmacSHA512 {
             }
         });
     }
+
+    /**
+     * PBKDF2 with HMAC-SHA512 built on one thread's SHA-512 {@link MessageDigest}, with the password encoded into a
+     * reused buffer and the pads, inner hash and running block in reused buffers, so that none of the 2048
+     * iterations allocates. {@link Mac#doFinal} allocates a new digest every call, and restoring a keyed digest
+     * state would need {@link MessageDigest#clone}, so each HMAC feeds the 128 byte padded key to the digest again,
+     * as the JDK's own {@code HmacSHA512} does. Everything is cleared after each use.
+     */
+    private static final class DigestEngine {
+        private static final int ITERATIONS = 2048;
+        private static final int BLOCK_LENGTH = 128;
+        private static final byte IPAD = 0x36;
+        private static final byte OPAD = 0x5c;
+
+        private final MessageDigest digest = getSha512();
+        private final byte[] innerPad = new byte[BLOCK_LENGTH];
+        private final byte[] outerPad = new byte[BLOCK_LENGTH];
+        private final byte[] innerHash = new byte[digest.getDigestLength()];
+        private final byte[] block = new byte[digest.getDigestLength()];
+        private byte[] password = new byte[0];
+
+        void hash(final char[] chars, final int charsLength, final byte[] salt, final int saltLength,
+                  final byte[] out, final int offset) {
+            final int passwordLength = Utf8Encoding.encodedLength(chars, 0, charsLength);
+            if (password.length < passwordLength)
+                password = new byte[passwordLength];
+            try {
+                Utf8Encoding.encode(chars, 0, charsLength, password, 0);
+                key(password, passwordLength);
+                digest.update(innerPad);
+                digest.update(salt, 0, saltLength);
+                digest.update((byte) 0);
+                digest.update((byte) 0);
+                digest.update((byte) 0);
+                digest.update((byte) 1);
+                mac();
+                System.arraycopy(block, 0, out, offset, block.length);
+                for (int i = 1; i < ITERATIONS; i++) {
+                    digest.update(innerPad);
+                    digest.update(block);
+                    mac();
+                    for (int j = 0; j < block.length; j++) {
+                        out[offset + j] ^= block[j];
+                    }
+                }
+            } catch (final DigestException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                Arrays.fill(password, 0, passwordLength, (byte) 0);
+                Arrays.fill(innerPad, (byte) 0);
+                Arrays.fill(outerPad, (byte) 0);
+                Arrays.fill(innerHash, (byte) 0);
+                Arrays.fill(block, (byte) 0);
+                digest.reset();
+            }
+        }
+
+        private void key(final byte[] key, final int keyLength) throws DigestException {
+            Arrays.fill(innerPad, (byte) 0);
+            if (keyLength > BLOCK_LENGTH) {
+                digest.update(key, 0, keyLength);
+                digest.digest(innerPad, 0, innerPad.length);
+            } else {
+                System.arraycopy(key, 0, innerPad, 0, keyLength);
+            }
+            for (int i = 0; i < BLOCK_LENGTH; i++) {
+                outerPad[i] = (byte) (innerPad[i] ^ OPAD);
+                innerPad[i] ^= IPAD;
+            }
+        }
+
+        /**
+         * Completes the inner hash already updated with the inner pad and message, and writes the HMAC to
+         * {@link #block}.
+         */
+        private void mac() throws DigestException {
+            digest.digest(innerHash, 0, innerHash.length);
+            digest.update(outerPad);
+            digest.update(innerHash);
+            digest.digest(block, 0, block.length);
+        }
+
+        private static MessageDigest getSha512() {
+            return toRuntime(new CheckedExceptionToRuntime.Func<MessageDigest>() {
+                @Override
+                public MessageDigest run() throws Exception {
+                    return MessageDigest.getInstance("SHA-512");
+                }
+            });
+        }
+    }
 }
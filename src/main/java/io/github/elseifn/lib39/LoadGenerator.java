@@ -0,0 +1,390 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import io.github.elseifn.lib39.wordlists.English;
+import io.github.elseifn.lib39.wordlists.French;
+import io.github.elseifn.lib39.wordlists.Japanese;
+import io.github.elseifn.lib39.wordlists.Spanish;
+
+import java.io.PrintStream;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Drives generation, validation or seed calculation from a number of threads for a fixed time and reports throughput
+ * and latency percentiles, for sizing hardware.
+ * <p>
+ * Runs offline from the jar, for example:
+ * <pre>
+ * java -cp lib39.jar:core-1.58.0.0.jar:ToRuntime-2019.01.27.jar io.github.elseifn.lib39.LoadGenerator \
+ *     --operation seed --threads 8 --language japanese --words 24 --pbkdf2 javax --duration 30
+ * </pre>
+ * The inputs are random mnemonics prepared before the run, latencies are recorded after a warm-up period in a
+ * {@link LatencyHistogram}.
+ */
+public final class LoadGenerator {
+
+    public enum Operation {
+        GENERATE,
+        VALIDATE,
+        SEED
+    }
+
+    public enum Language {
+        ENGLISH(English.INSTANCE),
+        FRENCH(French.INSTANCE),
+        JAPANESE(Japanese.INSTANCE),
+        SPANISH(Spanish.INSTANCE);
+
+        private final WordList wordList;
+
+        Language(final WordList wordList) {
+            this.wordList = wordList;
+        }
+    }
+
+    public enum Pbkdf2 {
+        SPONGY_CASTLE(SpongyCastlePBKDF2WithHmacSHA512.INSTANCE),
+        JAVAX(JavaxPBKDF2WithHmacSHA512.INSTANCE);
+
+        private final PBKDF2WithHmacSHA512 implementation;
+
+        Pbkdf2(final PBKDF2WithHmacSHA512 implementation) {
+            this.implementation = implementation;
+        }
+    }
+
+    private static final int INPUTS_PER_THREAD = 64;
+
+    private final Operation operation;
+    private final Language language;
+    private final int wordCount;
+    private final Pbkdf2 pbkdf2;
+    private final int threads;
+    private final long durationMillis;
+    private final long warmUpMillis;
+
+    public LoadGenerator() {
+        this(Operation.SEED, Language.ENGLISH, 12, Pbkdf2.SPONGY_CASTLE, Runtime.getRuntime().availableProcessors(),
+                10_000, 2_000);
+    }
+
+    private LoadGenerator(final Operation operation, final Language language, final int wordCount,
+                          final Pbkdf2 pbkdf2, final int threads, final long durationMillis,
+                          final long warmUpMillis) {
+        this.operation = operation;
+        this.language = language;
+        this.wordCount = wordCount;
+        this.pbkdf2 = pbkdf2;
+        this.threads = threads;
+        this.durationMillis = durationMillis;
+        this.warmUpMillis = warmUpMillis;
+    }
+
+    public LoadGenerator withOperation(final Operation operation) {
+        return new LoadGenerator(operation, language, wordCount, pbkdf2, threads, durationMillis, warmUpMillis);
+    }
+
+    public LoadGenerator withLanguage(final Language language) {
+        return new LoadGenerator(operation, language, wordCount, pbkdf2, threads, durationMillis, warmUpMillis);
+    }
+
+    /**
+     * @param wordCount Words per mnemonic, one of 12, 15, 18, 21 or 24. Defaults to 12.
+     */
+    public LoadGenerator withWordCount(final int wordCount) {
+        if (wordCount < 12 || wordCount > 24 || wordCount % 3 != 0)
+            throw new IllegalArgumentException("Word count must be one of 12, 15, 18, 21 or 24");
+        return new LoadGenerator(operation, language, wordCount, pbkdf2, threads, durationMillis, warmUpMillis);
+    }
+
+    public LoadGenerator withPbkdf2(final Pbkdf2 pbkdf2) {
+        return new LoadGenerator(operation, language, wordCount, pbkdf2, threads, durationMillis, warmUpMillis);
+    }
+
+    /**
+     * @param threads Number of threads to drive the operation from, defaults to the number of available processors.
+     */
+    public LoadGenerator withThreads(final int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("Threads must be at least 1");
+        return new LoadGenerator(operation, language, wordCount, pbkdf2, threads, durationMillis, warmUpMillis);
+    }
+
+    /**
+     * @param durationMillis How long to measure for, after the warm-up. Defaults to 10 seconds.
+     * @param warmUpMillis   How long to run before measuring. Defaults to 2 seconds.
+     */
+    public LoadGenerator withDuration(final long durationMillis, final long warmUpMillis) {
+        if (durationMillis < 1 || warmUpMillis < 0)
+            throw new IllegalArgumentException("Duration must be positive and warm-up not negative");
+        return new LoadGenerator(operation, language, wordCount, pbkdf2, threads, durationMillis, warmUpMillis);
+    }
+
+    public static final class Result {
+        private final long operations;
+        private final long nanos;
+        private final LatencyHistogram latency;
+
+        private Result(final long operations, final long nanos, final LatencyHistogram latency) {
+            this.operations = operations;
+            this.nanos = nanos;
+            this.latency = latency;
+        }
+
+        /**
+         * @return Number of operations completed in the measured period.
+         */
+        public long getOperations() {
+            return operations;
+        }
+
+        public double getOperationsPerSecond() {
+            return operations * 1e9 / nanos;
+        }
+
+        /**
+         * @return Latency of each operation completed in the measured period.
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+    }
+
+    /**
+     * Run the load, blocking until the warm-up and measured period are over.
+     *
+     * @return The throughput and latency over the measured period.
+     * @throws InterruptedException If interrupted while waiting for the threads.
+     */
+    public Result run() throws InterruptedException {
+        final SecureRandom random = new SecureRandom();
+        final List<Workload> workloads = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workloads.add(workload(random));
+        }
+        final LatencyHistogram latency = new LatencyHistogram();
+        final CountDownLatch ready = new CountDownLatch(threads);
+        final CountDownLatch go = new CountDownLatch(1);
+        final AtomicLong operations = new AtomicLong();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<Thread> running = new ArrayList<>(threads);
+        final long[] window = new long[2];
+        for (int i = 0; i < threads; i++) {
+            final Workload workload = workloads.get(i);
+            final Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    ready.countDown();
+                    try {
+                        go.await();
+                        operations.addAndGet(workload.measure(window[0], window[1], latency));
+                    } catch (final Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            }, "LoadGenerator-" + i);
+            thread.setDaemon(true);
+            running.add(thread);
+            thread.start();
+        }
+        ready.await();
+        final long start = System.nanoTime();
+        window[0] = start + warmUpMillis * 1_000_000;
+        window[1] = window[0] + durationMillis * 1_000_000;
+        go.countDown();
+        for (final Thread thread : running) {
+            thread.join();
+        }
+        if (failure.get() != null)
+            throw new IllegalStateException("Load generator thread failed", failure.get());
+        return new Result(operations.get(), durationMillis * 1_000_000, latency);
+    }
+
+    private Workload workload(final SecureRandom random) {
+        final byte[][] entropies = new byte[INPUTS_PER_THREAD][wordCount * 4 / 3];
+        final String[] mnemonics = new String[INPUTS_PER_THREAD];
+        final MnemonicGenerator generator = new MnemonicGenerator(language.wordList);
+        for (int i = 0; i < INPUTS_PER_THREAD; i++) {
+            random.nextBytes(entropies[i]);
+            final StringBuilder sb = new StringBuilder();
+            generator.createMnemonic(entropies[i], new MnemonicGenerator.Target() {
+                @Override
+                public void append(final CharSequence string) {
+                    sb.append(string);
+                }
+            });
+            mnemonics[i] = sb.toString();
+        }
+        switch (operation) {
+            case GENERATE:
+                return new Workload() {
+                    private final StringBuilder sb = new StringBuilder();
+                    private final MnemonicGenerator.Target target = new MnemonicGenerator.Target() {
+                        @Override
+                        public void append(final CharSequence string) {
+                            sb.append(string);
+                        }
+                    };
+
+                    @Override
+                    void run(final int input) {
+                        sb.setLength(0);
+                        generator.createMnemonic(entropies[input], target);
+                    }
+                };
+            case VALIDATE:
+                final MnemonicValidator validator = MnemonicValidator.ofWordList(language.wordList);
+                return new Workload() {
+                    @Override
+                    void run(final int input) throws Exception {
+                        validator.validate(mnemonics[input]);
+                    }
+                };
+            default:
+                final SeedCalculator seedCalculator = new SeedCalculator(pbkdf2.implementation);
+                return new Workload() {
+                    @Override
+                    void run(final int input) {
+                        seedCalculator.calculateSeed(mnemonics[input], "");
+                    }
+                };
+        }
+    }
+
+    private abstract static class Workload {
+        abstract void run(int input) throws Exception;
+
+        /**
+         * @return Number of operations started and completed within the measured period.
+         */
+        final long measure(final long measureFrom, final long measureTo, final LatencyHistogram latency)
+                throws Exception {
+            long operations = 0;
+            int input = 0;
+            long start;
+            while ((start = System.nanoTime()) < measureTo) {
+                run(input);
+                final long end = System.nanoTime();
+                if (start >= measureFrom && end <= measureTo) {
+                    latency.record(end - start);
+                    operations++;
+                }
+                input = (input + 1) % INPUTS_PER_THREAD;
+            }
+            return operations;
+        }
+    }
+
+    void report(final Result result, final PrintStream out) {
+        out.println(String.format(Locale.ROOT, "operation=%s language=%s words=%d pbkdf2=%s threads=%d duration=%dms",
+                operation, language, wordCount, pbkdf2, threads, durationMillis));
+        final LatencyHistogram latency = result.getLatency();
+        out.println(String.format(Locale.ROOT, "operations %12d", result.getOperations()));
+        out.println(String.format(Locale.ROOT, "ops/sec    %12.1f", result.getOperationsPerSecond()));
+        out.println(String.format(Locale.ROOT, "mean       %12.1f us", latency.getMean() / 1e3));
+        out.println(String.format(Locale.ROOT, "p50        %12.1f us", latency.getValueAtPercentile(50) / 1e3));
+        out.println(String.format(Locale.ROOT, "p99        %12.1f us", latency.getValueAtPercentile(99) / 1e3));
+        out.println(String.format(Locale.ROOT, "p99.9      %12.1f us", latency.getValueAtPercentile(99.9) / 1e3));
+        out.println(String.format(Locale.ROOT, "max        %12.1f us", latency.getMax() / 1e3));
+    }
+
+    /**
+     * @param args Options, see {@link #usage}.
+     * @return The configured load generator.
+     * @throws IllegalArgumentException If an option is not recognised or has a bad value.
+     */
+    static LoadGenerator parse(final String[] args) {
+        LoadGenerator loadGenerator = new LoadGenerator();
+        long durationMillis = loadGenerator.durationMillis;
+        long warmUpMillis = loadGenerator.warmUpMillis;
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length)
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            final String value = args[i + 1];
+            switch (args[i]) {
+                case "--operation":
+                    loadGenerator = loadGenerator.withOperation(Operation.valueOf(constant(value)));
+                    break;
+                case "--language":
+                    loadGenerator = loadGenerator.withLanguage(Language.valueOf(constant(value)));
+                    break;
+                case "--words":
+                    loadGenerator = loadGenerator.withWordCount(Integer.parseInt(value));
+                    break;
+                case "--pbkdf2":
+                    loadGenerator = loadGenerator.withPbkdf2(Pbkdf2.valueOf(constant(value)));
+                    break;
+                case "--threads":
+                    loadGenerator = loadGenerator.withThreads(Integer.parseInt(value));
+                    break;
+                case "--duration":
+                    durationMillis = (long) (Double.parseDouble(value) * 1000);
+                    break;
+                case "--warmup":
+                    warmUpMillis = (long) (Double.parseDouble(value) * 1000);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        return loadGenerator.withDuration(durationMillis, warmUpMillis);
+    }
+
+    private static String constant(final String value) {
+        return value.toUpperCase(Locale.ROOT).replace('-', '_');
+    }
+
+    private static void usage(final PrintStream out) {
+        out.println("Usage: LoadGenerator [options]");
+        out.println("  --operation generate|validate|seed           default seed");
+        out.println("  --language  english|french|japanese|spanish  default english");
+        out.println("  --words     12|15|18|21|24                   default 12");
+        out.println("  --pbkdf2    spongy-castle|javax              default spongy-castle");
+        out.println("  --threads   n                                default available processors");
+        out.println("  --duration  seconds to measure               default 10");
+        out.println("  --warmup    seconds before measuring         default 2");
+    }
+
+    public static void main(final String[] args) throws InterruptedException {
+        if (args.length == 1 && args[0].equals("--help")) {
+            usage(System.out);
+            return;
+        }
+        final LoadGenerator loadGenerator;
+        try {
+            loadGenerator = parse(args);
+        } catch (final IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            usage(System.err);
+            System.exit(2);
+            return;
+        }
+        loadGenerator.report(loadGenerator.run(), System.out);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import java.util.Arrays;
+
+/**
+ * A BIP32 master private key and chain code, the HMAC-SHA512 of a seed keyed with "Bitcoin seed".
+ * <p>
+ * Get one from {@link SeedCalculator#calculateMasterKey(char[], char[])}, which does not return the seed in between.
+ * Immutable until {@link #wipe}d.
+ */
+public final class MasterKey {
+
+    /**
+     * Bytes of a master key as written by {@link SeedCalculator#calculateMasterKeys}, the private key then the chain
+     * code.
+     */
+    public static final int LENGTH = 64;
+
+    static final byte[] HMAC_KEY = {'B', 'i', 't', 'c', 'o', 'i', 'n', ' ', 's', 'e', 'e', 'd'};
+
+    /**
+     * Order of the secp256k1 group, private keys must be below it.
+     */
+    private static final byte[] CURVE_ORDER = {
+            (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff,
+            (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xfe,
+            (byte) 0xba, (byte) 0xae, (byte) 0xdc, (byte) 0xe6, (byte) 0xaf, (byte) 0x48, (byte) 0xa0, (byte) 0x3b,
+            (byte) 0xbf, (byte) 0xd2, (byte) 0x5e, (byte) 0x8c, (byte) 0xd0, (byte) 0x36, (byte) 0x41, (byte) 0x41
+    };
+
+    private final byte[] key;
+    private boolean wiped;
+
+    /**
+     * @param key Private key then chain code. Owned by this object.
+     */
+    MasterKey(final byte[] key) {
+        this.key = key;
+    }
+
+    /**
+     * @return A copy of the 32 byte private key, the caller should clear it after use.
+     */
+    public byte[] getPrivateKey() {
+        checkNotWiped();
+        return Arrays.copyOf(key, 32);
+    }
+
+    /**
+     * @return A copy of the 32 byte chain code, the caller should clear it after use.
+     */
+    public byte[] getChainCode() {
+        checkNotWiped();
+        return Arrays.copyOfRange(key, 32, LENGTH);
+    }
+
+    /**
+     * Clear the key and chain code.
+     */
+    public void wipe() {
+        Arrays.fill(key, (byte) 0);
+        wiped = true;
+    }
+
+    public boolean isWiped() {
+        return wiped;
+    }
+
+    /**
+     * @return Never the key.
+     */
+    @Override
+    public String toString() {
+        return wiped ? "BIP32 master key (wiped)" : "BIP32 master key";
+    }
+
+    /**
+     * Derive the master key from a seed as BIP32, on this thread's SHA-512 engine.
+     *
+     * @param seed       The seed.
+     * @param seedOffset Position of the seed in {@code seed}.
+     * @param out        Where to write the private key then chain code.
+     * @param offset     Position in {@code out} of the first byte.
+     * @throws IllegalStateException In the negligible case, below 1 in 2^127, that the key is not a valid private
+     *                               key, in which case what was written is cleared
+     */
+    static void derive(final byte[] seed, final int seedOffset, final byte[] out, final int offset) {
+        SpongyCastlePBKDF2WithHmacSHA512.hmacSha512(HMAC_KEY, seed, seedOffset, out, offset);
+        if (!isValidPrivateKey(out, offset)) {
+            Arrays.fill(out, offset, offset + LENGTH, (byte) 0);
+            throw new IllegalStateException("Seed gives an invalid BIP32 master key");
+        }
+    }
+
+    static boolean isValidPrivateKey(final byte[] key, final int offset) {
+        boolean zero = true;
+        for (int i = 0; i < 32; i++) {
+            if (key[offset + i] != 0) {
+                zero = false;
+                break;
+            }
+        }
+        if (zero)
+            return false;
+        for (int i = 0; i < 32; i++) {
+            final int a = key[offset + i] & 0xff;
+            final int b = CURVE_ORDER[i] & 0xff;
+            if (a != b)
+                return a < b;
+        }
+        return false;
+    }
+
+    private void checkNotWiped() {
+        if (wiped)
+            throw new IllegalStateException("Master key has been wiped");
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+/**
+ * A {@link MetricsListener} that counts outcomes in striped counters and records latencies in lock-free
+ * {@link LatencyHistogram}s. Share one instance between the generators, validators and seed calculators to be
+ * measured, and read it from any thread.
+ */
+public final class Metrics implements MetricsListener {
+
+    public enum Counter {
+        MNEMONICS_GENERATED,
+        MNEMONICS_VALID,
+        INVALID_CHECKSUM,
+        INVALID_WORD_COUNT,
+        WORD_NOT_FOUND,
+        UNEXPECTED_WHITE_SPACE,
+        SEEDS_CALCULATED
+    }
+
+    public enum Timer {
+        GENERATION,
+        VALIDATION,
+        SEED_NORMALIZATION,
+        PBKDF2
+    }
+
+    private final StripedCounter[] counters = new StripedCounter[Counter.values().length];
+    private final LatencyHistogram[] timers = new LatencyHistogram[Timer.values().length];
+    private final StripedCounter[] failureCounters = new StripedCounter[ValidationFailure.values().length];
+
+    public Metrics() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new StripedCounter();
+        }
+        for (int i = 0; i < timers.length; i++) {
+            timers[i] = new LatencyHistogram();
+        }
+        for (final ValidationFailure failure : ValidationFailure.values()) {
+            failureCounters[failure.ordinal()] = counters[Counter.valueOf(failure.name()).ordinal()];
+        }
+    }
+
+    /**
+     * @param counter The counter.
+     * @return Its current total.
+     */
+    public long getCount(final Counter counter) {
+        return counters[counter.ordinal()].sum();
+    }
+
+    /**
+     * @param timer The timer.
+     * @return Its histogram, which continues to record.
+     */
+    public LatencyHistogram getLatency(final Timer timer) {
+        return timers[timer.ordinal()];
+    }
+
+    @Override
+    public void mnemonicGenerated(final int wordCount, final long nanos) {
+        counters[Counter.MNEMONICS_GENERATED.ordinal()].increment();
+        timers[Timer.GENERATION.ordinal()].record(nanos);
+    }
+
+    @Override
+    public void mnemonicValid(final int wordCount, final long nanos) {
+        counters[Counter.MNEMONICS_VALID.ordinal()].increment();
+        timers[Timer.VALIDATION.ordinal()].record(nanos);
+    }
+
+    @Override
+    public void mnemonicInvalid(final ValidationFailure failure, final long nanos) {
+        failureCounters[failure.ordinal()].increment();
+        timers[Timer.VALIDATION.ordinal()].record(nanos);
+    }
+
+    @Override
+    public void seedCalculated(final long normalizationNanos, final long pbkdf2Nanos) {
+        counters[Counter.SEEDS_CALCULATED.ordinal()].increment();
+        timers[Timer.SEED_NORMALIZATION.ordinal()].record(normalizationNanos);
+        timers[Timer.PBKDF2.ordinal()].record(pbkdf2Nanos);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+/**
+ * Receives timings and outcomes from {@link MnemonicGenerator}, {@link MnemonicValidator} and {@link SeedCalculator}
+ * when supplied through their {@code withMetrics} methods. {@link Metrics} is a ready made implementation.
+ * <p>
+ * Calls are made on the calling thread after each operation, so implementations must be thread safe and fast. No
+ * secret material is passed.
+ */
+public interface MetricsListener {
+
+    enum ValidationFailure {
+        INVALID_CHECKSUM,
+        INVALID_WORD_COUNT,
+        WORD_NOT_FOUND,
+        UNEXPECTED_WHITE_SPACE
+    }
+
+    /**
+     * @param wordCount Number of words in the mnemonic.
+     * @param nanos     Time taken to create the mnemonic.
+     */
+    void mnemonicGenerated(int wordCount, long nanos);
+
+    /**
+     * @param wordCount Number of words in the mnemonic.
+     * @param nanos     Time taken to find the words and check the checksum.
+     */
+    void mnemonicValid(int wordCount, long nanos);
+
+    /**
+     * @param failure The reason the mnemonic is invalid.
+     * @param nanos   Time taken until the failure was found.
+     */
+    void mnemonicInvalid(ValidationFailure failure, long nanos);
+
+    /**
+     * @param normalizationNanos Time taken to normalize the mnemonic and passphrase and build the salt.
+     * @param pbkdf2Nanos        Time taken by PBKDF2.
+     */
+    void seedCalculated(long normalizationNanos, long pbkdf2Nanos);
+}
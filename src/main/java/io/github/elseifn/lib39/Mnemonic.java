@@ -0,0 +1,160 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * A valid mnemonic held as its word indexes packed 11 bits each, which is the entropy followed by the checksum, so
+ * that it is validated and normalized once however many layers it passes through.
+ * <p>
+ * Get one from {@link MnemonicValidator#parse} or {@link MnemonicGenerator#createMnemonic(byte[])}. It is not tied to
+ * a language, {@link #render} it in any {@link WordList}, which translates it, and calculate its seed from the word
+ * indexes with {@link SeedCalculatorByWordListLookUp#calculateSeed(Mnemonic, char[])}. The seed does depend on the
+ * word list, as it is calculated from the words.
+ * <p>
+ * Equality and hash code are of the word indexes alone, and equality is checked in constant time. The hash code is
+ * a SipHash of the word indexes under a random key chosen once per process, so it does not give away bits of
+ * the entropy.
+ * <p>
+ * Immutable until {@link #wipe}d, after which only equality, hash code and {@link #toString()} can be used. The hash
+ * code is kept from before the wipe and a wiped mnemonic is equal only to itself, so one can be wiped while it is a
+ * key in a set or map, and still be found and removed.
+ * <p>
+ * Safe to share between threads. A wipe is seen by other threads straight away, but one that is part way through
+ * reading the words when it happens may read some of them cleared, so wipe only once other threads are done with it.
+ */
+public final class Mnemonic {
+
+    private static final class HashHolder {
+        static final SipHash HASH = SipHash.withRandomKey();
+    }
+
+    private final byte[] entropyWithChecksum;
+    private final int wordCount;
+    private final int hashCode;
+    private volatile boolean wiped;
+
+    /**
+     * @param entropyWithChecksum Packed word indexes, with any bits after the checksum clear. Owned by this object.
+     * @param wordCount           Number of words.
+     */
+    Mnemonic(final byte[] entropyWithChecksum, final int wordCount) {
+        this.entropyWithChecksum = entropyWithChecksum;
+        this.wordCount = wordCount;
+        final long hash = HashHolder.HASH.hash(entropyWithChecksum, 0, entropyWithChecksum.length);
+        hashCode = (int) (hash ^ hash >>> 32);
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * @param position Position of the word, from 0.
+     * @return Index of the word in any word list.
+     */
+    public int getWordIndex(final int position) {
+        checkNotWiped();
+        if (position < 0 || position >= wordCount)
+            throw new IndexOutOfBoundsException("Word " + position + " of " + wordCount);
+        return ByteUtils.next11Bits(entropyWithChecksum, position * 11);
+    }
+
+    /**
+     * @return A copy of the entropy, the caller should clear it after use.
+     */
+    public byte[] getEntropy() {
+        checkNotWiped();
+        return Arrays.copyOf(entropyWithChecksum, wordCount * 11 * 32 / 33 / 8);
+    }
+
+    /**
+     * Write the mnemonic in the words of a word list, separated by its space.
+     *
+     * @param wordList Any word list, not necessarily the one the mnemonic was created from.
+     * @param target   Where to write the mnemonic to.
+     */
+    public void render(final WordList wordList, final MnemonicGenerator.Target target) {
+        checkNotWiped();
+        final String space = String.valueOf(wordList.getSpace());
+        for (int i = 0; i < wordCount; i++) {
+            if (i > 0) target.append(space);
+            target.append(wordList.getWord(getWordIndex(i)));
+        }
+    }
+
+    /**
+     * @param wordList Any word list, not necessarily the one the mnemonic was created from.
+     * @return The mnemonic in the words of the word list.
+     */
+    public String toString(final WordList wordList) {
+        final StringBuilder sb = new StringBuilder();
+        render(wordList, new MnemonicGenerator.Target() {
+            @Override
+            public void append(final CharSequence string) {
+                sb.append(string);
+            }
+        });
+        return sb.toString();
+    }
+
+    /**
+     * Clear the word indexes.
+     */
+    public void wipe() {
+        Arrays.fill(entropyWithChecksum, (byte) 0);
+        wiped = true;
+    }
+
+    public boolean isWiped() {
+        return wiped;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Mnemonic)) return false;
+        final Mnemonic other = (Mnemonic) o;
+        if (wiped || other.wiped) return false;
+        return wordCount == other.wordCount && MessageDigest.isEqual(entropyWithChecksum, other.entropyWithChecksum);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    /**
+     * @return The word count only, never the words.
+     */
+    @Override
+    public String toString() {
+        return wordCount + " word mnemonic" + (wiped ? " (wiped)" : "");
+    }
+
+    private void checkNotWiped() {
+        if (wiped)
+            throw new IllegalStateException("Mnemonic has been wiped");
+    }
+}
@@ -1,7 +1,5 @@
 package io.github.elseifn.lib39;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 
 import static io.github.elseifn.lib39.ByteUtils.next11Bits;
@@ -87,18 +85,7 @@ public final class MnemonicGeneration {
     }
 
     static byte firstByteOfSha256(final byte[] entropy) {
-        final byte[] hash = sha256().digest(entropy);
-        final byte firstByte = hash[0];
-        Arrays.fill(hash, (byte) 0);
-        return firstByte;
-    }
-
-    private static MessageDigest sha256() {
-        try {
-            return MessageDigest.getInstance("SHA-256");
-        } catch (final NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
-        }
+        return MnemonicGenerator.firstByteOfSha256(entropy);
     }
 
     private static void entropyLengthPreChecks(final int ent) {
@@ -24,7 +24,6 @@ package io.github.elseifn.lib39;
 import java.util.Arrays;
 
 import static io.github.elseifn.lib39.ByteUtils.next11Bits;
-import static io.github.elseifn.hashing.Sha256.sha256;
 
 /**
  * Generates mnemonics from entropy.
@@ -32,6 +31,7 @@ import static io.github.elseifn.hashing.Sha256.sha256;
 public final class MnemonicGenerator {
 
     private final WordList wordList;
+    private final MetricsListener metrics;
 
     /**
      * Create a generator using the given word list.
@@ -39,7 +39,20 @@ public final class MnemonicGenerator {
      * @param wordList A known ordered list of 2048 words to select from.
      */
     public MnemonicGenerator(final WordList wordList) {
+        this(wordList, null);
+    }
+
+    private MnemonicGenerator(final WordList wordList, final MetricsListener metrics) {
         this.wordList = wordList;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param metrics Listener to tell about each mnemonic created, or null for none.
+     * @return A generator for the same word list that reports to the listener.
+     */
+    public MnemonicGenerator withMetrics(final MetricsListener metrics) {
+        return new MnemonicGenerator(wordList, metrics);
     }
 
     public interface Target {
@@ -78,12 +91,35 @@ public final class MnemonicGenerator {
     public void createMnemonic(
             final byte[] entropy,
             final Target target) {
+        final long start = metrics == null ? 0 : System.nanoTime();
         final int[] wordIndexes = wordIndexes(entropy);
         try {
             createMnemonic(wordIndexes, target);
         } finally {
             Arrays.fill(wordIndexes, 0);
         }
+        if (metrics != null)
+            metrics.mnemonicGenerated(wordIndexes.length, System.nanoTime() - start);
+    }
+
+    /**
+     * Create a mnemonic given the entropy, to render in any word list later.
+     *
+     * @param entropy 128-256 bits of entropy, number of bits must also be divisible by 32
+     * @return The mnemonic, holding a copy of the entropy
+     */
+    public Mnemonic createMnemonic(final byte[] entropy) {
+        final long start = metrics == null ? 0 : System.nanoTime();
+        final int ent = entropy.length * 8;
+        entropyLengthPreChecks(ent);
+        final int cs = ent / 32;
+        final byte[] entropyWithChecksum = Arrays.copyOf(entropy, entropy.length + 1);
+        entropyWithChecksum[entropy.length] =
+                (byte) (firstByteOfSha256(entropy) & MnemonicValidator.maskOfFirstNBits(cs));
+        final Mnemonic mnemonic = new Mnemonic(entropyWithChecksum, (ent + cs) / 11);
+        if (metrics != null)
+            metrics.mnemonicGenerated(mnemonic.getWordCount(), System.nanoTime() - start);
+        return mnemonic;
     }
 
     private void createMnemonic(
@@ -100,27 +136,35 @@ public final class MnemonicGenerator {
         final int ent = entropy.length * 8;
         entropyLengthPreChecks(ent);
 
-        final byte[] entropyWithChecksum = Arrays.copyOf(entropy, entropy.length + 1);
-        entropyWithChecksum[entropy.length] = firstByteOfSha256(entropy);
-
         //checksum length
         final int cs = ent / 32;
         //mnemonic length
         final int ms = (ent + cs) / 11;
 
-        //get the indexes into the word list
         final int[] wordIndexes = new int[ms];
-        for (int i = 0, wi = 0; wi < ms; i += 11, wi++) {
+        wordIndexes(entropy, wordIndexes);
+        return wordIndexes;
+    }
+
+    /**
+     * Fills the word indexes for the entropy, the entropy length is not checked here.
+     *
+     * @param entropy     128-256 bits of entropy, number of bits must also be divisible by 32
+     * @param wordIndexes Destination, must be exactly the mnemonic length for the entropy
+     */
+    static void wordIndexes(final byte[] entropy, final int[] wordIndexes) {
+        final byte[] entropyWithChecksum = Arrays.copyOf(entropy, entropy.length + 1);
+        entropyWithChecksum[entropy.length] = firstByteOfSha256(entropy);
+
+        //get the indexes into the word list
+        for (int i = 0, wi = 0; wi < wordIndexes.length; i += 11, wi++) {
             wordIndexes[wi] = next11Bits(entropyWithChecksum, i);
         }
-        return wordIndexes;
+        Arrays.fill(entropyWithChecksum, (byte) 0);
     }
 
     static byte firstByteOfSha256(final byte[] entropy) {
-        final byte[] hash = sha256(entropy);
-        final byte firstByte = hash[0];
-        Arrays.fill(hash, (byte) 0);
-        return firstByte;
+        return ThreadLocalSha256.firstByteOfSha256(entropy);
     }
 
     private static void entropyLengthPreChecks(final int ent) {
@@ -0,0 +1,463 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Searches random entropy for mnemonics that meet constraints, for example a required first word, or a seed that falls
+ * in a range.
+ * <p>
+ * Each candidate is checked against the {@link WordIndexConstraint} first, which costs one SHA-256, and only the
+ * candidates that pass are put through PBKDF2 for the {@link SeedConstraint}. Put as much of the constraint as
+ * possible on the word indexes.
+ */
+public final class MnemonicSearch {
+
+    public interface WordIndexConstraint {
+        /**
+         * Called concurrently from all search threads.
+         *
+         * @param wordIndexes Indexes into the word list of the candidate, do not keep a reference to this array.
+         * @return true if the candidate is acceptable.
+         */
+        boolean accept(final int[] wordIndexes);
+    }
+
+    public interface SeedConstraint {
+        /**
+         * Called concurrently from all search threads.
+         *
+         * @param seed The seed of a candidate that passed the {@link WordIndexConstraint}, do not keep a reference.
+         * @return true if the candidate is acceptable.
+         */
+        boolean accept(final byte[] seed);
+    }
+
+    private static final int CANDIDATES_PER_RANDOM_DRAW = 64;
+    private static final int FLUSH_COUNT_EVERY = 1024;
+
+    private static final WordIndexConstraint ANY_WORDS = new WordIndexConstraint() {
+        @Override
+        public boolean accept(final int[] wordIndexes) {
+            return true;
+        }
+    };
+
+    private final WordList wordList;
+    private final Words words;
+    private final WordIndexConstraint wordIndexConstraint;
+    private final SeedCalculator seedCalculator;
+    private final String passphrase;
+    private final SeedConstraint seedConstraint;
+    private final int threads;
+
+    /**
+     * Create a search that accepts any mnemonic of the given length, add constraints with
+     * {@link #withWordIndexConstraint} and {@link #withSeedConstraint}.
+     *
+     * @param wordList The word list to generate mnemonics from.
+     * @param words    The length of the mnemonics.
+     */
+    public MnemonicSearch(final WordList wordList, final Words words) {
+        this(wordList, words, ANY_WORDS, null, null, null, Runtime.getRuntime().availableProcessors());
+    }
+
+    private MnemonicSearch(final WordList wordList,
+                           final Words words,
+                           final WordIndexConstraint wordIndexConstraint,
+                           final SeedCalculator seedCalculator,
+                           final String passphrase,
+                           final SeedConstraint seedConstraint,
+                           final int threads) {
+        this.wordList = wordList;
+        this.words = words;
+        this.wordIndexConstraint = wordIndexConstraint;
+        this.seedCalculator = seedCalculator;
+        this.passphrase = passphrase;
+        this.seedConstraint = seedConstraint;
+        this.threads = threads;
+    }
+
+    /**
+     * @param wordIndexConstraint The constraint on the word indexes.
+     * @return A new search with the word index constraint.
+     * @throws IllegalArgumentException If the constraint is from {@link #wordAt} with a position past the last word.
+     */
+    public MnemonicSearch withWordIndexConstraint(final WordIndexConstraint wordIndexConstraint) {
+        if (wordIndexConstraint instanceof WordAt && ((WordAt) wordIndexConstraint).position >= words.wordCount())
+            throw new IllegalArgumentException("Position " + ((WordAt) wordIndexConstraint).position +
+                    " is past the last word of a " + words.wordCount() + " word mnemonic");
+        return new MnemonicSearch(wordList, words, wordIndexConstraint, seedCalculator, passphrase, seedConstraint, threads);
+    }
+
+    /**
+     * @param seedCalculator The calculator to derive the seed of each candidate with.
+     * @param passphrase     The passphrase to derive the seed with, use "" if not required
+     * @param seedConstraint The constraint on the seed.
+     * @return A new search with the seed constraint.
+     */
+    public MnemonicSearch withSeedConstraint(final SeedCalculator seedCalculator,
+                                             final String passphrase,
+                                             final SeedConstraint seedConstraint) {
+        return new MnemonicSearch(wordList, words, wordIndexConstraint, seedCalculator, passphrase, seedConstraint, threads);
+    }
+
+    /**
+     * @param threads Number of threads to search with, defaults to the number of available processors.
+     * @return A new search with the thread count.
+     */
+    public MnemonicSearch withThreads(final int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("At least one thread required");
+        return new MnemonicSearch(wordList, words, wordIndexConstraint, seedCalculator, passphrase, seedConstraint, threads);
+    }
+
+    /**
+     * Constraint that the word at the given position has the given index in the word list.
+     *
+     * @param position  Position of the word in the mnemonic, 0 is the first word.
+     * @param wordIndex Index of the word in the word list [0..2047] inclusive.
+     * @return A constraint for {@link #withWordIndexConstraint}
+     * @throws IllegalArgumentException If the position is not that of a word in a mnemonic of up to 24 words, or the
+     *                                  word index is not in [0..2047]
+     */
+    public static WordIndexConstraint wordAt(final int position, final int wordIndex) {
+        if (position < 0 || position >= Words.TWENTY_FOUR.wordCount())
+            throw new IllegalArgumentException("Position " + position + " is not in [0.." +
+                    (Words.TWENTY_FOUR.wordCount() - 1) + "]");
+        if (wordIndex < 0 || wordIndex >= 1 << 11)
+            throw new IllegalArgumentException("Word index " + wordIndex + " is not in [0..2047]");
+        return new WordAt(position, wordIndex);
+    }
+
+    private static final class WordAt implements WordIndexConstraint {
+        private final int position;
+        private final int wordIndex;
+
+        WordAt(final int position, final int wordIndex) {
+            this.position = position;
+            this.wordIndex = wordIndex;
+        }
+
+        @Override
+        public boolean accept(final int[] wordIndexes) {
+            return wordIndexes[position] == wordIndex;
+        }
+    }
+
+    /**
+     * Search on background threads, as {@link #start}, blocking the calling thread until a mnemonic is found.
+     *
+     * @return The first mnemonic found.
+     * @throws InterruptedException  If interrupted while waiting, the search is cancelled.
+     * @throws SearchFailedException If a constraint threw.
+     */
+    public Result search() throws InterruptedException {
+        final Search search = start();
+        try {
+            return search.get();
+        } catch (final InterruptedException e) {
+            search.cancel();
+            throw e;
+        }
+    }
+
+    /**
+     * Start searching on background threads.
+     *
+     * @return The search in progress.
+     */
+    public Search start() {
+        final Search search = new Search(threads);
+        final char[][] normalizedWords = seedConstraint == null ? null : normalizedWords(wordList);
+        for (int i = 0; i < threads; i++) {
+            final Thread thread = new Thread(new Worker(search, normalizedWords), "MnemonicSearch-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return search;
+    }
+
+    private static char[][] normalizedWords(final WordList wordList) {
+        final NFKDNormalizer normalizer = new WordListMapNormalization(wordList);
+        final char[][] normalizedWords = new char[1 << 11][];
+        for (int i = 0; i < 1 << 11; i++) {
+            normalizedWords[i] = normalizer.normalize(wordList.getWord(i)).toCharArray();
+        }
+        return normalizedWords;
+    }
+
+    private final class Worker implements Runnable {
+        private final Search search;
+        private final char[][] normalizedWords;
+
+        Worker(final Search search, final char[][] normalizedWords) {
+            this.search = search;
+            this.normalizedWords = normalizedWords;
+        }
+
+        @Override
+        public void run() {
+            final SecureRandom random = new SecureRandom();
+            final int byteLength = words.byteLength();
+            final byte[] randomBytes = new byte[byteLength * CANDIDATES_PER_RANDOM_DRAW];
+            final byte[] entropy = new byte[byteLength];
+            final int[] wordIndexes = new int[words.wordCount()];
+            long unflushed = 0;
+            try {
+                while (!search.isDone()) {
+                    random.nextBytes(randomBytes);
+                    for (int c = 0; c < CANDIDATES_PER_RANDOM_DRAW && !search.isDone(); c++) {
+                        System.arraycopy(randomBytes, c * byteLength, entropy, 0, byteLength);
+                        MnemonicGenerator.wordIndexes(entropy, wordIndexes);
+                        if (++unflushed == FLUSH_COUNT_EVERY) {
+                            search.candidatesTested.addAndGet(unflushed);
+                            unflushed = 0;
+                        }
+                        if (!wordIndexConstraint.accept(wordIndexes))
+                            continue;
+                        final byte[] seed = seedConstraint == null ? null : calculateSeed(wordIndexes);
+                        if (seed != null && !seedConstraint.accept(seed)) {
+                            Arrays.fill(seed, (byte) 0);
+                            continue;
+                        }
+                        search.found(mnemonic(wordIndexes), seed);
+                    }
+                }
+            } catch (final Throwable e) {
+                search.failed(e);
+            } finally {
+                search.candidatesTested.addAndGet(unflushed);
+                Arrays.fill(randomBytes, (byte) 0);
+                Arrays.fill(entropy, (byte) 0);
+                Arrays.fill(wordIndexes, 0);
+                search.workerFinished();
+            }
+        }
+
+        private byte[] calculateSeed(final int[] wordIndexes) {
+            search.seedsCalculated.incrementAndGet();
+            int length = wordIndexes.length - 1;
+            for (final int wordIndex : wordIndexes) {
+                length += normalizedWords[wordIndex].length;
+            }
+            final char[] mnemonicChars = new char[length];
+            try {
+                for (int i = 0, index = 0; i < wordIndexes.length; i++) {
+                    if (i > 0) mnemonicChars[index++] = ' ';
+                    final char[] word = normalizedWords[wordIndexes[i]];
+                    System.arraycopy(word, 0, mnemonicChars, index, word.length);
+                    index += word.length;
+                }
+                return seedCalculator.calculateSeed(mnemonicChars, passphrase, FlightRecorderEvents.language(wordList));
+            } finally {
+                Arrays.fill(mnemonicChars, '\0');
+            }
+        }
+
+        private String mnemonic(final int[] wordIndexes) {
+            final StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < wordIndexes.length; i++) {
+                if (i > 0) sb.append(wordList.getSpace());
+                sb.append(wordList.getWord(wordIndexes[i]));
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * A search in progress.
+     */
+    public static final class Search {
+        private final long startNanos = System.nanoTime();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final AtomicInteger workersRunning;
+        private final AtomicReference<Result> result = new AtomicReference<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final AtomicLong candidatesTested = new AtomicLong();
+        private final AtomicLong seedsCalculated = new AtomicLong();
+        private volatile boolean cancelled;
+        private volatile long endNanos;
+
+        private Search(final int threads) {
+            workersRunning = new AtomicInteger(threads);
+        }
+
+        /**
+         * Stop the search, {@link #get} will throw {@link CancellationException} unless a result was already found.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isDone() {
+            return cancelled || result.get() != null || failure.get() != null;
+        }
+
+        /**
+         * Wait for the search to finish.
+         *
+         * @return The result.
+         * @throws InterruptedException  If interrupted while waiting, the search continues.
+         * @throws CancellationException If the search was cancelled before a result was found.
+         * @throws SearchFailedException If a constraint threw.
+         */
+        public Result get() throws InterruptedException {
+            done.await();
+            return outcome();
+        }
+
+        /**
+         * Wait for the search to finish.
+         *
+         * @param timeout Maximum time to wait.
+         * @param unit    Unit of timeout.
+         * @return The result.
+         * @throws InterruptedException  If interrupted while waiting, the search continues.
+         * @throws TimeoutException      If the wait timed out, the search continues.
+         * @throws CancellationException If the search was cancelled before a result was found.
+         * @throws SearchFailedException If a constraint threw.
+         */
+        public Result get(final long timeout, final TimeUnit unit) throws InterruptedException, TimeoutException {
+            if (!done.await(timeout, unit))
+                throw new TimeoutException();
+            return outcome();
+        }
+
+        /**
+         * @return Number of candidates tested so far, updated in batches while the search runs.
+         */
+        public long candidatesTested() {
+            return candidatesTested.get();
+        }
+
+        /**
+         * @return Number of candidates that passed the word index constraint and had their seed calculated so far.
+         */
+        public long seedsCalculated() {
+            return seedsCalculated.get();
+        }
+
+        /**
+         * @return Candidates tested per second since the search started, or until it finished.
+         */
+        public double candidatesPerSecond() {
+            return perSecond(candidatesTested.get(), elapsedNanos());
+        }
+
+        private long elapsedNanos() {
+            final long end = endNanos;
+            return (end == 0 ? System.nanoTime() : end) - startNanos;
+        }
+
+        private Result outcome() {
+            final Throwable e = failure.get();
+            if (e != null)
+                throw new SearchFailedException(e);
+            final Result found = result.get();
+            if (found == null)
+                throw new CancellationException();
+            return found;
+        }
+
+        private void found(final String mnemonic, final byte[] seed) {
+            if (!result.compareAndSet(null, new Result(mnemonic, seed, this))) {
+                if (seed != null)
+                    Arrays.fill(seed, (byte) 0);
+            }
+        }
+
+        private void failed(final Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+
+        private void workerFinished() {
+            if (workersRunning.decrementAndGet() == 0) {
+                endNanos = System.nanoTime();
+                done.countDown();
+            }
+        }
+    }
+
+    /**
+     * Thrown by {@link Search#get} on the caller's thread when a search thread failed, usually because a constraint
+     * threw. The cause is what the search thread caught, with that thread's stack trace.
+     */
+    public static final class SearchFailedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        SearchFailedException(final Throwable cause) {
+            super("Mnemonic search failed", cause);
+        }
+    }
+
+    public static final class Result {
+        private final String mnemonic;
+        private final byte[] seed;
+        private final Search search;
+
+        private Result(final String mnemonic, final byte[] seed, final Search search) {
+            this.mnemonic = mnemonic;
+            this.seed = seed;
+            this.search = search;
+        }
+
+        public String getMnemonic() {
+            return mnemonic;
+        }
+
+        /**
+         * @return The seed of the mnemonic, or null if the search had no seed constraint.
+         */
+        public byte[] getSeed() {
+            return seed;
+        }
+
+        /**
+         * @return Total candidates tested by all threads.
+         */
+        public long getCandidatesTested() {
+            return search.candidatesTested();
+        }
+
+        public long getSeedsCalculated() {
+            return search.seedsCalculated();
+        }
+
+        public double getCandidatesPerSecond() {
+            return search.candidatesPerSecond();
+        }
+    }
+
+    private static double perSecond(final long count, final long nanos) {
+        return nanos <= 0 ? 0 : count * 1e9 / nanos;
+    }
+}
@@ -28,7 +28,6 @@ import io.github.elseifn.lib39.Validation.WordNotFoundException;
 
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Comparator;
 
 import static io.github.elseifn.lib39.MnemonicGenerator.firstByteOfSha256;
 import static io.github.elseifn.lib39.Normalization.normalizeNFKD;
@@ -37,18 +36,23 @@ import static io.github.elseifn.lib39.Normalization.normalizeNFKD;
  * Contains function for validating Mnemonics against the BIP0039 spec.
  */
 public final class MnemonicValidator {
-    private final WordAndIndex[] words;
+    private final PackedWordList words;
     private final CharSequenceSplitter charSequenceSplitter;
-    private final NFKDNormalizer normalizer;
+    private final MetricsListener metrics;
+    private final String language;
 
     private MnemonicValidator(final WordList wordList) {
-        normalizer = new WordListMapNormalization(wordList);
-        words = new WordAndIndex[1 << 11];
-        for (int i = 0; i < 1 << 11; i++) {
-            words[i] = new WordAndIndex(i, wordList.getWord(i));
-        }
-        charSequenceSplitter = new CharSequenceSplitter(wordList.getSpace(), normalizeNFKD(wordList.getSpace()));
-        Arrays.sort(words, wordListSortOrder);
+        words = PackedWordList.of(wordList);
+        charSequenceSplitter = new CharSequenceSplitter(words.getSpace(), words.getNormalizedSpace());
+        metrics = null;
+        language = FlightRecorderEvents.language(wordList);
+    }
+
+    private MnemonicValidator(final MnemonicValidator validator, final MetricsListener metrics) {
+        words = validator.words;
+        charSequenceSplitter = validator.charSequenceSplitter;
+        this.metrics = metrics;
+        language = validator.language;
     }
 
     /**
@@ -62,6 +66,14 @@ public final class MnemonicValidator {
         return new MnemonicValidator(wordList);
     }
 
+    /**
+     * @param metrics Listener to tell about each validation and its outcome, or null for none.
+     * @return A validator for the same word list that reports to the listener.
+     */
+    public MnemonicValidator withMetrics(final MetricsListener metrics) {
+        return new MnemonicValidator(this, metrics);
+    }
+
     /**
      * Check that the supplied mnemonic fits the BIP0039 spec.
      *
@@ -76,7 +88,8 @@ public final class MnemonicValidator {
             InvalidWordCountException,
             WordNotFoundException,
             UnexpectedWhiteSpaceException {
-        validate(charSequenceSplitter.split(mnemonic));
+        final long start = metrics == null ? 0 : System.nanoTime();
+        clear(validateWords(charSequenceSplitter.split(mnemonic), start));
     }
 
     /**
@@ -96,15 +109,105 @@ public final class MnemonicValidator {
             InvalidWordCountException,
             WordNotFoundException,
             UnexpectedWhiteSpaceException {
+        clear(validateWords(mnemonic, metrics == null ? 0 : System.nanoTime()));
+    }
+
+    /**
+     * Check that the supplied mnemonic fits the BIP0039 spec, as {@link #validate(CharSequence)}, and keep it as
+     * its word indexes.
+     *
+     * @param mnemonic The memorable list of words
+     * @return The valid mnemonic, to render in any word list or calculate the seed of
+     * @throws InvalidChecksumException      If the last bytes don't match the expected last bytes
+     * @throws InvalidWordCountException     If the number of words is not a multiple of 3, 24 or fewer
+     * @throws WordNotFoundException         If a word in the mnemonic is not present in the word list
+     * @throws UnexpectedWhiteSpaceException Occurs if one of the supplied words is empty, e.g. a double space
+     */
+    public Mnemonic parse(final CharSequence mnemonic) throws
+            InvalidChecksumException,
+            InvalidWordCountException,
+            WordNotFoundException,
+            UnexpectedWhiteSpaceException {
+        final long start = metrics == null ? 0 : System.nanoTime();
+        final Collection<? extends CharSequence> words = charSequenceSplitter.split(mnemonic);
+        return new Mnemonic(validateWords(words, start), words.size());
+    }
+
+    /**
+     * Check that the supplied mnemonic fits the BIP0039 spec, as {@link #validate(Collection)}, and keep it as
+     * its word indexes.
+     *
+     * @param mnemonic The memorable list of words
+     * @return The valid mnemonic, to render in any word list or calculate the seed of
+     * @throws InvalidChecksumException      If the last bytes don't match the expected last bytes
+     * @throws InvalidWordCountException     If the number of words is not a multiple of 3, 24 or fewer
+     * @throws WordNotFoundException         If a word in the mnemonic is not present in the word list
+     * @throws UnexpectedWhiteSpaceException Occurs if one of the supplied words is empty
+     */
+    public Mnemonic parse(final Collection<? extends CharSequence> mnemonic) throws
+            InvalidChecksumException,
+            InvalidWordCountException,
+            WordNotFoundException,
+            UnexpectedWhiteSpaceException {
+        return new Mnemonic(validateWords(mnemonic, metrics == null ? 0 : System.nanoTime()), mnemonic.size());
+    }
+
+    /**
+     * @return The word indexes packed 11 bits each, the caller should clear them after use.
+     */
+    private byte[] validateWords(final Collection<? extends CharSequence> mnemonic, final long start) throws
+            InvalidChecksumException,
+            InvalidWordCountException,
+            WordNotFoundException,
+            UnexpectedWhiteSpaceException {
+        final Object event = FlightRecorderEvents.begin(FlightRecorderEvents.Type.MNEMONIC_VALIDATION);
+        if (metrics == null && event == null)
+            return checkWords(mnemonic);
+        final byte[] entropyWithChecksum;
+        try {
+            entropyWithChecksum = checkWords(mnemonic);
+        } catch (final InvalidChecksumException e) {
+            invalid(MetricsListener.ValidationFailure.INVALID_CHECKSUM, mnemonic, start, event);
+            throw e;
+        } catch (final InvalidWordCountException e) {
+            invalid(MetricsListener.ValidationFailure.INVALID_WORD_COUNT, mnemonic, start, event);
+            throw e;
+        } catch (final WordNotFoundException e) {
+            invalid(MetricsListener.ValidationFailure.WORD_NOT_FOUND, mnemonic, start, event);
+            throw e;
+        } catch (final UnexpectedWhiteSpaceException e) {
+            invalid(MetricsListener.ValidationFailure.UNEXPECTED_WHITE_SPACE, mnemonic, start, event);
+            throw e;
+        }
+        if (metrics != null)
+            metrics.mnemonicValid(mnemonic.size(), System.nanoTime() - start);
+        FlightRecorderEvents.commit(event, mnemonic.size(), language, null, FlightRecorderEvents.SUCCESS);
+        return entropyWithChecksum;
+    }
+
+    private void invalid(final MetricsListener.ValidationFailure failure,
+                         final Collection<? extends CharSequence> mnemonic,
+                         final long start,
+                         final Object event) {
+        if (metrics != null)
+            metrics.mnemonicInvalid(failure, System.nanoTime() - start);
+        FlightRecorderEvents.commit(event, mnemonic.size(), language, null, failure.name());
+    }
+
+    private byte[] checkWords(final Collection<? extends CharSequence> mnemonic) throws
+            InvalidChecksumException,
+            InvalidWordCountException,
+            WordNotFoundException,
+            UnexpectedWhiteSpaceException {
         final int[] wordIndexes = findWordIndexes(mnemonic);
         try {
-            validate(wordIndexes);
+            return validate(wordIndexes);
         } finally {
             Arrays.fill(wordIndexes, 0);
         }
     }
 
-    private static void validate(final int[] wordIndexes) throws
+    private static byte[] validate(final int[] wordIndexes) throws
             InvalidWordCountException,
             InvalidChecksumException {
         final int ms = wordIndexes.length;
@@ -121,14 +224,17 @@ public final class MnemonicValidator {
 
         final byte[] entropy = Arrays.copyOf(entropyWithChecksum, entropyWithChecksum.length - 1);
         final byte lastByte = entropyWithChecksum[entropyWithChecksum.length - 1];
-        Arrays.fill(entropyWithChecksum, (byte) 0);
 
         final byte sha = firstByteOfSha256(entropy);
+        Arrays.fill(entropy, (byte) 0);
 
         final byte mask = maskOfFirstNBits(cs);
 
-        if (((sha ^ lastByte) & mask) != 0)
+        if (((sha ^ lastByte) & mask) != 0) {
+            clear(entropyWithChecksum);
             throw new InvalidChecksumException();
+        }
+        return entropyWithChecksum;
     }
 
     private int[] findWordIndexes(final Collection<? extends CharSequence> split) throws
@@ -147,16 +253,19 @@ public final class MnemonicValidator {
     }
 
     private int findWordIndex(final CharSequence buffer) throws WordNotFoundException {
-        final WordAndIndex key = new WordAndIndex(-1, buffer);
-        final int index = Arrays.binarySearch(words, key, wordListSortOrder);
-        if (index < 0) {
-            final int insertionPoint = -index - 1;
-            int suggestion = insertionPoint == 0 ? insertionPoint : insertionPoint - 1;
-            if (suggestion + 1 == words.length) suggestion--;
-            throw new WordNotFoundException(buffer, words[suggestion].word, words[suggestion + 1].word);
-
-        }
-        return words[index].index;
+        final int index = words.indexOf(buffer);
+        if (index >= 0)
+            return index;
+        final String normalized = normalizeNFKD(buffer);
+        final int normalizedIndex = words.indexOf(normalized);
+        if (normalizedIndex >= 0)
+            return normalizedIndex;
+        final int insertionPoint = words.sortedInsertionPoint(normalized);
+        int suggestion = insertionPoint == 0 ? insertionPoint : insertionPoint - 1;
+        if (suggestion + 1 == 1 << 11) suggestion--;
+        throw new WordNotFoundException(buffer,
+                words.getWord(words.sortedWordIndex(suggestion)),
+                words.getWord(words.sortedWordIndex(suggestion + 1)));
     }
 
     private static void wordIndexesToEntropyWithCheckSum(final int[] wordIndexes, final byte[] entropyWithChecksum) {
@@ -165,26 +274,11 @@ public final class MnemonicValidator {
         }
     }
 
-    private static byte maskOfFirstNBits(final int n) {
+    static byte maskOfFirstNBits(final int n) {
         return (byte) ~((1 << (8 - n)) - 1);
     }
 
-    private static final Comparator<WordAndIndex> wordListSortOrder = new Comparator<WordAndIndex>() {
-        @Override
-        public int compare(final WordAndIndex o1, final WordAndIndex o2) {
-            return CharSequenceComparators.ALPHABETICAL.compare(o1.normalized, o2.normalized);
-        }
-    };
-
-    private class WordAndIndex {
-        final CharSequence word;
-        final String normalized;
-        final int index;
-
-        WordAndIndex(final int i, final CharSequence word) {
-            this.word = word;
-            normalized = normalizer.normalize(word);
-            index = i;
-        }
+    private static void clear(final byte[] entropyWithChecksum) {
+        Arrays.fill(entropyWithChecksum, (byte) 0);
     }
 }
@@ -0,0 +1,234 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * NFKD decompositions and canonical ordering ranks of the Basic Multilingual Plane, derived from the JDK's
+ * {@link Normalizer}, used by {@link CharArrayNFKDNormalizer}.
+ * <p>
+ * Each char has an entry, held in a two stage table of 64 char blocks, with identical blocks shared. The low 24
+ * bits of an entry are one more than the offset of its full decomposition in {@link #data}, stored as a length
+ * followed by the chars, or 0 if the char does not decompose. The high 8 bits are a rank that orders non-starters
+ * as their canonical combining class does, and 0 for starters. Hangul syllables are not in the table, they
+ * decompose algorithmically.
+ * <p>
+ * The table is generated at build time into a resource, it is only built at runtime if the resource is missing.
+ */
+final class NFKDTable {
+
+    static final String RESOURCE_NAME = "nfkd.table";
+
+    private static final int MAGIC = 0x4e464b44;
+    private static final int FORMAT_VERSION = 1;
+    private static final int BLOCK_BITS = 6;
+    private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+    private static final int OFFSET_MASK = (1 << 24) - 1;
+
+    private final char[] blocks;
+    private final int[] entries;
+    private final char[] data;
+
+    private NFKDTable(final char[] blocks, final int[] entries, final char[] data) {
+        this.blocks = blocks;
+        this.entries = entries;
+        this.data = data;
+    }
+
+    int entry(final char c) {
+        return entries[blocks[c >>> BLOCK_BITS] << BLOCK_BITS | (c & (BLOCK_SIZE - 1))];
+    }
+
+    static int rank(final int entry) {
+        return entry >>> 24;
+    }
+
+    /**
+     * @param entry An entry.
+     * @return Offset of the decomposition length in {@link #data}, or -1 if the char does not decompose.
+     */
+    static int decompositionOffset(final int entry) {
+        return (entry & OFFSET_MASK) - 1;
+    }
+
+    char[] data() {
+        return data;
+    }
+
+    static NFKDTable load() {
+        try (final InputStream in = NFKDTable.class.getResourceAsStream(RESOURCE_NAME)) {
+            if (in != null) {
+                final NFKDTable table = read(readFully(in));
+                if (table != null)
+                    return table;
+            }
+        } catch (final IOException ignored) {
+        }
+        return build();
+    }
+
+    private static byte[] readFully(final InputStream in) throws IOException {
+        byte[] bytes = new byte[1 << 16];
+        int length = 0;
+        int read;
+        while ((read = in.read(bytes, length, bytes.length - length)) != -1) {
+            length += read;
+            if (length == bytes.length)
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        }
+        return Arrays.copyOf(bytes, length);
+    }
+
+    static NFKDTable build() {
+        final int[] flat = new int[1 << 16];
+        final StringBuilder data = new StringBuilder();
+        final Map<String, Integer> offsets = new HashMap<>();
+        final List<Character> nonStarters = new ArrayList<>();
+        for (int i = 0; i < flat.length; i++) {
+            final char c = (char) i;
+            if (Character.isSurrogate(c) || CharArrayNFKDNormalizer.isHangulSyllable(c))
+                continue;
+            final String s = String.valueOf(c);
+            final String decomposed = Normalizer.normalize(s, Normalizer.Form.NFKD);
+            if (!decomposed.equals(s)) {
+                Integer offset = offsets.get(decomposed);
+                if (offset == null) {
+                    offset = data.length();
+                    offsets.put(decomposed, offset);
+                    data.append((char) decomposed.length()).append(decomposed);
+                }
+                flat[i] = offset + 1;
+            } else if (isNonStarter(c)) {
+                nonStarters.add(c);
+            }
+        }
+        if (data.length() >= OFFSET_MASK)
+            throw new IllegalStateException("Decompositions do not fit the table");
+        final Comparator<Character> canonicalOrder = new Comparator<Character>() {
+            @Override
+            public int compare(final Character o1, final Character o2) {
+                if (reorders(o1, o2))
+                    return 1;
+                if (reorders(o2, o1))
+                    return -1;
+                return 0;
+            }
+        };
+        Collections.sort(nonStarters, canonicalOrder);
+        int rank = 0;
+        for (int i = 0; i < nonStarters.size(); i++) {
+            if (i == 0 || canonicalOrder.compare(nonStarters.get(i - 1), nonStarters.get(i)) != 0)
+                rank++;
+            if (rank > 0xff)
+                throw new IllegalStateException("Too many canonical combining classes");
+            flat[nonStarters.get(i)] |= rank << 24;
+        }
+        return compress(flat, data.toString().toCharArray());
+    }
+
+    private static NFKDTable compress(final int[] flat, final char[] data) {
+        final char[] blocks = new char[flat.length / BLOCK_SIZE];
+        final int[] entries = new int[flat.length];
+        final Map<List<Integer>, Integer> blockIndexes = new HashMap<>();
+        int blockCount = 0;
+        for (int block = 0; block < blocks.length; block++) {
+            final List<Integer> key = new ArrayList<>(BLOCK_SIZE);
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                key.add(flat[block * BLOCK_SIZE + i]);
+            }
+            Integer index = blockIndexes.get(key);
+            if (index == null) {
+                index = blockCount++;
+                blockIndexes.put(key, index);
+                System.arraycopy(flat, block * BLOCK_SIZE, entries, index * BLOCK_SIZE, BLOCK_SIZE);
+            }
+            blocks[block] = (char) (int) index;
+        }
+        return new NFKDTable(blocks, Arrays.copyOf(entries, blockCount * BLOCK_SIZE), data);
+    }
+
+    /**
+     * A char that does not decompose is a non-starter if the JDK moves it relative to a mark of the lowest or the
+     * most common canonical combining class.
+     */
+    private static boolean isNonStarter(final char c) {
+        return reorders(c, '\u0334') || reorders('\u0301', c);
+    }
+
+    /**
+     * @return true if canonical ordering swaps the two chars, that is both are non-starters and the first has a
+     * higher canonical combining class.
+     */
+    private static boolean reorders(final char first, final char second) {
+        final String s = "a" + first + second;
+        return !Normalizer.normalize(s, Normalizer.Form.NFD).equals(s);
+    }
+
+    void writeTo(final OutputStream outputStream) throws IOException {
+        final DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        for (final char block : blocks) {
+            out.writeChar(block);
+        }
+        out.writeInt(entries.length);
+        for (final int entry : entries) {
+            out.writeInt(entry);
+        }
+        out.writeInt(data.length);
+        for (final char c : data) {
+            out.writeChar(c);
+        }
+        out.flush();
+    }
+
+    /**
+     * @param bytes Bytes written by {@link #writeTo(OutputStream)}.
+     * @return The table, or null if the bytes are not in the current format.
+     */
+    static NFKDTable read(final byte[] bytes) {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < 8 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION)
+            return null;
+        final char[] blocks = new char[(1 << 16) / BLOCK_SIZE];
+        buffer.asCharBuffer().get(blocks);
+        buffer.position(buffer.position() + blocks.length * 2);
+        final int[] entries = new int[buffer.getInt()];
+        buffer.asIntBuffer().get(entries);
+        buffer.position(buffer.position() + entries.length * 4);
+        final char[] data = new char[buffer.getInt()];
+        buffer.asCharBuffer().get(data);
+        return new NFKDTable(blocks, entries, data);
+    }
+}
@@ -21,11 +21,13 @@
 
 package io.github.elseifn.lib39;
 
-import java.text.Normalizer;
-
 final class Normalization {
     static String normalizeNFKD(final String string) {
-        return Normalizer.normalize(string, Normalizer.Form.NFKD);
+        return QuickCheckNFKDNormalizer.INSTANCE.normalize(string);
+    }
+
+    static String normalizeNFKD(final CharSequence charSequence) {
+        return QuickCheckNFKDNormalizer.INSTANCE.normalize(charSequence);
     }
 
     static char normalizeNFKD(final char c) {
@@ -0,0 +1,40 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+/**
+ * Implemented by the bundled PBKDF2 implementations so that {@link SeedCalculator} can hash from reused, oversized,
+ * buffers straight into the caller's array, without the intermediate arrays {@link #hash(char[], byte[])} returns.
+ */
+interface PBKDF2WithHmacSHA512ToBuffer extends PBKDF2WithHmacSHA512 {
+
+    /**
+     * @param chars       Password, the first {@code charsLength} chars are used.
+     * @param charsLength Length of the password.
+     * @param salt        Salt, the first {@code saltLength} bytes are used.
+     * @param saltLength  Length of the salt.
+     * @param out         Where to write the 64 byte result.
+     * @param offset      Position in {@code out} of the first byte of the result.
+     */
+    void hash(final char[] chars, final int charsLength, final byte[] salt, final int saltLength,
+              final byte[] out, final int offset);
+}
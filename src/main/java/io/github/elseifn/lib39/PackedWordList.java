@@ -0,0 +1,466 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A {@link WordList} packed into a few flat arrays, holding the original, NFKD and NFC forms of every word, the UTF-8
+ * encoding of the NFKD forms, the words in sorted order and a hash index over all forms.
+ * <p>
+ * Use {@link #of(WordList)} to pack any word list. As the words are not held as {@link String}s,
+ * {@link #getWord(int)} creates a new {@link String} on each call, use the copy methods to read words without
+ * allocating.
+ */
+public final class PackedWordList implements WordList {
+
+    private static final int WORD_COUNT = 1 << 11;
+    private static final int ORIGINAL = 0;
+    private static final int NFKD = 1;
+    private static final int NFC = 2;
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final int MAGIC = 0x42333950;
+    private static final int FORMAT_VERSION = 2;
+
+    private final char space;
+    private final char normalizedSpace;
+    private final char[][] forms;
+    private final int[][] formOffsets;
+    private final byte[] utf8;
+    private final int[] utf8Offsets;
+    private final short[] sortedOrder;
+    private final short[] table;
+
+    PackedWordList(final char space,
+                   final char normalizedSpace,
+                   final char[][] forms,
+                   final int[][] formOffsets,
+                   final byte[] utf8,
+                   final int[] utf8Offsets,
+                   final short[] sortedOrder,
+                   final short[] table) {
+        this.space = space;
+        this.normalizedSpace = normalizedSpace;
+        this.forms = forms;
+        this.formOffsets = formOffsets;
+        this.utf8 = utf8;
+        this.utf8Offsets = utf8Offsets;
+        this.sortedOrder = sortedOrder;
+        this.table = table;
+    }
+
+    /**
+     * Pack a word list. The bundled word lists are packed once, on first use, and shared.
+     *
+     * @param wordList A known ordered list of 2048 words.
+     * @return The packed word list, or the same instance if already packed.
+     */
+    public static PackedWordList of(final WordList wordList) {
+        if (wordList instanceof PackedWordList)
+            return (PackedWordList) wordList;
+        final PackedWordList shared = PackedWordListResources.shared(wordList);
+        if (shared != null)
+            return shared;
+        return index(wordList);
+    }
+
+    /**
+     * @param wordList A known ordered list of 2048 words.
+     * @return A new packed word list, read from the bundled resource for the list if it has one.
+     */
+    static PackedWordList index(final WordList wordList) {
+        final Object event = FlightRecorderEvents.begin(FlightRecorderEvents.Type.WORD_LIST_INDEX);
+        final PackedWordList bundled = PackedWordListResources.load(wordList);
+        if (bundled != null) {
+            FlightRecorderEvents.commit(event, WORD_COUNT, FlightRecorderEvents.language(wordList), null, "resource");
+            return bundled;
+        }
+        final PackedWordList packed = pack(wordList);
+        FlightRecorderEvents.commit(event, WORD_COUNT, FlightRecorderEvents.language(wordList), null, "packed");
+        return packed;
+    }
+
+    static PackedWordList pack(final WordList wordList) {
+        final String[] words = new String[WORD_COUNT];
+        for (int i = 0; i < WORD_COUNT; i++) {
+            words[i] = wordList.getWord(i);
+        }
+        return pack(wordList.getSpace(), words);
+    }
+
+    static PackedWordList pack(final char space, final String[] words) {
+        final String[] nfkd = new String[WORD_COUNT];
+        final String[] nfc = new String[WORD_COUNT];
+        for (int i = 0; i < WORD_COUNT; i++) {
+            if (CharSequences.isAscii(words[i])) {
+                nfkd[i] = words[i];
+                nfc[i] = words[i];
+            } else {
+                nfkd[i] = Normalizer.normalize(words[i], Normalizer.Form.NFKD);
+                nfc[i] = Normalizer.normalize(words[i], Normalizer.Form.NFC);
+            }
+        }
+        final char[][] forms = new char[3][];
+        final int[][] formOffsets = new int[3][];
+        packForm(words, forms, formOffsets, ORIGINAL);
+        packForm(nfkd, forms, formOffsets, NFKD);
+        packForm(nfc, forms, formOffsets, NFC);
+
+        final int[] utf8Offsets = new int[WORD_COUNT + 1];
+        final byte[][] encoded = new byte[WORD_COUNT][];
+        for (int i = 0; i < WORD_COUNT; i++) {
+            encoded[i] = nfkd[i].getBytes(UTF8);
+            utf8Offsets[i + 1] = utf8Offsets[i] + encoded[i].length;
+        }
+        final byte[] utf8 = new byte[utf8Offsets[WORD_COUNT]];
+        for (int i = 0; i < WORD_COUNT; i++) {
+            System.arraycopy(encoded[i], 0, utf8, utf8Offsets[i], encoded[i].length);
+        }
+
+        final Integer[] sorted = new Integer[WORD_COUNT];
+        for (int i = 0; i < WORD_COUNT; i++) {
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer o1, final Integer o2) {
+                return CharSequenceComparators.ALPHABETICAL.compare(nfkd[o1], nfkd[o2]);
+            }
+        });
+        final short[] sortedOrder = new short[WORD_COUNT];
+        for (int i = 0; i < WORD_COUNT; i++) {
+            sortedOrder[i] = (short) (int) sorted[i];
+        }
+
+        final PackedWordList packed = new PackedWordList(space, Normalization.normalizeNFKD(space), forms,
+                formOffsets, utf8, utf8Offsets, sortedOrder, new short[WORD_COUNT * 8]);
+        packed.buildTable();
+        return packed;
+    }
+
+    private static void packForm(final String[] words, final char[][] forms, final int[][] formOffsets, final int form) {
+        for (int previous = 0; previous < form; previous++) {
+            if (sameContent(words, forms[previous], formOffsets[previous])) {
+                forms[form] = forms[previous];
+                formOffsets[form] = formOffsets[previous];
+                return;
+            }
+        }
+        final int[] offsets = new int[WORD_COUNT + 1];
+        for (int i = 0; i < WORD_COUNT; i++) {
+            offsets[i + 1] = offsets[i] + words[i].length();
+        }
+        final char[] chars = new char[offsets[WORD_COUNT]];
+        for (int i = 0; i < WORD_COUNT; i++) {
+            words[i].getChars(0, words[i].length(), chars, offsets[i]);
+        }
+        forms[form] = chars;
+        formOffsets[form] = offsets;
+    }
+
+    private static boolean sameContent(final String[] words, final char[] chars, final int[] offsets) {
+        for (int i = 0; i < WORD_COUNT; i++) {
+            if (!CharSequences.regionEquals(words[i], chars, offsets[i], offsets[i + 1] - offsets[i]))
+                return false;
+        }
+        return true;
+    }
+
+    private void buildTable() {
+        final int mask = table.length - 1;
+        for (int form = 0; form < forms.length; form++) {
+            if (form > 0 && forms[form] == forms[form - 1])
+                continue;
+            final char[] chars = forms[form];
+            final int[] offsets = formOffsets[form];
+            for (int i = 0; i < WORD_COUNT; i++) {
+                final int offset = offsets[i];
+                final int length = offsets[i + 1] - offset;
+                int slot = spread(CharSequences.hash(chars, offset, length)) & mask;
+                boolean duplicate = false;
+                while (table[slot] != 0) {
+                    final int entry = table[slot] - 1;
+                    final int entryForm = entry >>> 11;
+                    final int entryIndex = entry & (WORD_COUNT - 1);
+                    final int entryOffset = formOffsets[entryForm][entryIndex];
+                    if (CharSequences.regionEquals(forms[entryForm], entryOffset,
+                            formOffsets[entryForm][entryIndex + 1] - entryOffset, chars, offset, length)) {
+                        duplicate = true;
+                        break;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                if (!duplicate)
+                    table[slot] = (short) ((form << 11 | i) + 1);
+            }
+        }
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Write the packed arrays in the format read by {@link #read(byte[])}.
+     * Words are limited to 255 chars and 255 UTF-8 bytes.
+     */
+    void writeTo(final OutputStream outputStream) throws IOException {
+        final DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeChar(space);
+        out.writeChar(normalizedSpace);
+        for (int form = 0; form < forms.length; form++) {
+            final int shared = sharedForm(form);
+            out.writeByte(shared);
+            if (shared != -1)
+                continue;
+            writeLengths(out, formOffsets[form]);
+            for (final char c : forms[form]) {
+                out.writeChar(c);
+            }
+        }
+        writeLengths(out, utf8Offsets);
+        out.write(utf8);
+        for (final short index : sortedOrder) {
+            out.writeShort(index);
+        }
+        out.writeInt(table.length);
+        for (final short entry : table) {
+            out.writeShort(entry);
+        }
+        out.flush();
+    }
+
+    private int sharedForm(final int form) {
+        for (int previous = 0; previous < form; previous++) {
+            if (forms[form] == forms[previous])
+                return previous;
+        }
+        return -1;
+    }
+
+    private static void writeLengths(final DataOutputStream out, final int[] offsets) throws IOException {
+        for (int i = 0; i < WORD_COUNT; i++) {
+            final int length = offsets[i + 1] - offsets[i];
+            if (length > 0xff)
+                throw new IllegalArgumentException("Word too long to write");
+            out.writeByte(length);
+        }
+        out.writeInt(offsets[WORD_COUNT]);
+    }
+
+    /**
+     * Read a packed word list written by {@link #writeTo(OutputStream)}.
+     *
+     * @param bytes The written bytes.
+     * @return The packed word list, or null if the bytes are not in the current format.
+     */
+    static PackedWordList read(final byte[] bytes) {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < 8 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION)
+            return null;
+        final char space = buffer.getChar();
+        final char normalizedSpace = buffer.getChar();
+        final char[][] forms = new char[3][];
+        final int[][] formOffsets = new int[3][];
+        for (int form = 0; form < forms.length; form++) {
+            final int shared = buffer.get();
+            if (shared != -1) {
+                forms[form] = forms[shared];
+                formOffsets[form] = formOffsets[shared];
+                continue;
+            }
+            formOffsets[form] = readOffsets(buffer);
+            forms[form] = new char[formOffsets[form][WORD_COUNT]];
+            buffer.asCharBuffer().get(forms[form]);
+            buffer.position(buffer.position() + forms[form].length * 2);
+        }
+        final int[] utf8Offsets = readOffsets(buffer);
+        final byte[] utf8 = new byte[utf8Offsets[WORD_COUNT]];
+        buffer.get(utf8);
+        final short[] sortedOrder = new short[WORD_COUNT];
+        buffer.asShortBuffer().get(sortedOrder);
+        buffer.position(buffer.position() + WORD_COUNT * 2);
+        final short[] table = new short[buffer.getInt()];
+        buffer.asShortBuffer().get(table);
+        return new PackedWordList(space, normalizedSpace, forms, formOffsets, utf8, utf8Offsets, sortedOrder, table);
+    }
+
+    private static int[] readOffsets(final ByteBuffer buffer) {
+        final int[] offsets = new int[WORD_COUNT + 1];
+        for (int i = 0; i < WORD_COUNT; i++) {
+            offsets[i + 1] = offsets[i] + (buffer.get() & 0xff);
+        }
+        if (buffer.getInt() != offsets[WORD_COUNT])
+            throw new IllegalArgumentException("Packed word list lengths do not add up");
+        return offsets;
+    }
+
+    /**
+     * @param wordList A word list.
+     * @return true if this holds the same space and words as the word list.
+     */
+    boolean matches(final WordList wordList) {
+        if (space != wordList.getSpace())
+            return false;
+        for (int i = 0; i < WORD_COUNT; i++) {
+            if (!CharSequences.regionEquals(wordList.getWord(i), forms[ORIGINAL], formOffsets[ORIGINAL][i],
+                    length(ORIGINAL, i)))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String getWord(final int index) {
+        return new String(forms[ORIGINAL], formOffsets[ORIGINAL][index], length(ORIGINAL, index));
+    }
+
+    @Override
+    public char getSpace() {
+        return space;
+    }
+
+    /**
+     * @return The NFKD normalized form of the space, worked out when packed so that it is not normalized again.
+     */
+    char getNormalizedSpace() {
+        return normalizedSpace;
+    }
+
+    /**
+     * @param index Index of word in the word list [0..2047] inclusive.
+     * @return the NFKD normalized form of the word.
+     */
+    public String getNormalizedWord(final int index) {
+        return new String(forms[NFKD], formOffsets[NFKD][index], length(NFKD, index));
+    }
+
+    /**
+     * @param index Index of word in the word list [0..2047] inclusive.
+     * @return Number of chars in the NFKD normalized form of the word.
+     */
+    public int normalizedLength(final int index) {
+        return length(NFKD, index);
+    }
+
+    /**
+     * Copy the NFKD normalized form of a word.
+     *
+     * @param index       Index of word in the word list [0..2047] inclusive.
+     * @param destination Where to copy the chars to.
+     * @param offset      Position in destination to copy to.
+     * @return Number of chars copied.
+     */
+    public int copyNormalized(final int index, final char[] destination, final int offset) {
+        final int length = length(NFKD, index);
+        System.arraycopy(forms[NFKD], formOffsets[NFKD][index], destination, offset, length);
+        return length;
+    }
+
+    /**
+     * @param index Index of word in the word list [0..2047] inclusive.
+     * @return Number of bytes in the UTF-8 encoding of the NFKD normalized form of the word.
+     */
+    public int normalizedUtf8Length(final int index) {
+        return utf8Offsets[index + 1] - utf8Offsets[index];
+    }
+
+    /**
+     * Copy the UTF-8 encoding of the NFKD normalized form of a word.
+     *
+     * @param index       Index of word in the word list [0..2047] inclusive.
+     * @param destination Where to copy the bytes to.
+     * @param offset      Position in destination to copy to.
+     * @return Number of bytes copied.
+     */
+    public int copyNormalizedUtf8(final int index, final byte[] destination, final int offset) {
+        final int length = normalizedUtf8Length(index);
+        System.arraycopy(utf8, utf8Offsets[index], destination, offset, length);
+        return length;
+    }
+
+    /**
+     * Find a word in the list by content, matching the original, NFKD or NFC forms of the words.
+     * This does not call {@link CharSequence#toString()} or {@link CharSequence#subSequence}.
+     *
+     * @param word The word to find.
+     * @return Index of the word in the word list [0..2047] inclusive, or -1 if not found.
+     */
+    public int indexOf(final CharSequence word) {
+        final int mask = table.length - 1;
+        int slot = spread(CharSequences.hash(word)) & mask;
+        while (true) {
+            final int entry = table[slot] - 1;
+            if (entry < 0)
+                return -1;
+            final int form = entry >>> 11;
+            final int index = entry & (WORD_COUNT - 1);
+            final int offset = formOffsets[form][index];
+            if (CharSequences.regionEquals(word, forms[form], offset, formOffsets[form][index + 1] - offset))
+                return index;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * @param normalizedWord An NFKD normalized word.
+     * @return The position in sorted order the word has or would be inserted at.
+     */
+    int sortedInsertionPoint(final CharSequence normalizedWord) {
+        int low = 0;
+        int high = WORD_COUNT - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int index = sortedOrder[mid];
+            final int offset = formOffsets[NFKD][index];
+            final int compare = CharSequences.compare(normalizedWord, forms[NFKD], offset, length(NFKD, index));
+            if (compare > 0)
+                low = mid + 1;
+            else if (compare < 0)
+                high = mid - 1;
+            else
+                return mid;
+        }
+        return low;
+    }
+
+    /**
+     * @param position Position in sorted order [0..2047] inclusive.
+     * @return Index of the word in the word list.
+     */
+    int sortedWordIndex(final int position) {
+        return sortedOrder[position];
+    }
+
+    private int length(final int form, final int index) {
+        return formOffsets[form][index + 1] - formOffsets[form][index];
+    }
+}
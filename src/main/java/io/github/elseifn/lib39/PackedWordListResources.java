@@ -0,0 +1,121 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import io.github.elseifn.lib39.wordlists.English;
+import io.github.elseifn.lib39.wordlists.French;
+import io.github.elseifn.lib39.wordlists.Japanese;
+import io.github.elseifn.lib39.wordlists.Spanish;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Loads the packed forms of the bundled word lists, which are generated at build time so that the first use of a
+ * bundled list does not need to normalize, sort and index its words.
+ */
+final class PackedWordListResources {
+
+    static final WordList[] BUNDLED = {English.INSTANCE, French.INSTANCE, Japanese.INSTANCE, Spanish.INSTANCE};
+
+    private PackedWordListResources() {
+    }
+
+    /**
+     * @param wordList A bundled word list.
+     * @return Resource path of the packed form, relative to the word list class.
+     */
+    static String resourceName(final WordList wordList) {
+        return wordList.getClass().getSimpleName() + ".packed";
+    }
+
+    /**
+     * @param wordList Any word list.
+     * @return The packed form of a bundled word list, or null if not bundled or the resource is missing or stale.
+     */
+    static PackedWordList load(final WordList wordList) {
+        if (!isBundled(wordList))
+            return null;
+        final byte[] bytes = readResource(wordList);
+        if (bytes == null)
+            return null;
+        final PackedWordList packed = PackedWordList.read(bytes);
+        if (packed == null || !packed.matches(wordList))
+            return null;
+        return packed;
+    }
+
+    /**
+     * @param wordList Any word list.
+     * @return The packed form of a bundled word list, created on first use and shared, or null if not bundled.
+     */
+    static PackedWordList shared(final WordList wordList) {
+        if (wordList instanceof English)
+            return EnglishHolder.PACKED;
+        if (wordList instanceof French)
+            return FrenchHolder.PACKED;
+        if (wordList instanceof Japanese)
+            return JapaneseHolder.PACKED;
+        if (wordList instanceof Spanish)
+            return SpanishHolder.PACKED;
+        return null;
+    }
+
+    private static boolean isBundled(final WordList wordList) {
+        return wordList instanceof English || wordList instanceof French || wordList instanceof Japanese ||
+                wordList instanceof Spanish;
+    }
+
+    private static byte[] readResource(final WordList wordList) {
+        try (final InputStream in = wordList.getClass().getResourceAsStream(resourceName(wordList))) {
+            if (in == null)
+                return null;
+            byte[] bytes = new byte[1 << 17];
+            int length = 0;
+            int read;
+            while ((read = in.read(bytes, length, bytes.length - length)) != -1) {
+                length += read;
+                if (length == bytes.length)
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            return Arrays.copyOf(bytes, length);
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+
+    private static final class EnglishHolder {
+        static final PackedWordList PACKED = PackedWordList.index(English.INSTANCE);
+    }
+
+    private static final class FrenchHolder {
+        static final PackedWordList PACKED = PackedWordList.index(French.INSTANCE);
+    }
+
+    private static final class JapaneseHolder {
+        static final PackedWordList PACKED = PackedWordList.index(Japanese.INSTANCE);
+    }
+
+    private static final class SpanishHolder {
+        static final PackedWordList PACKED = PackedWordList.index(Spanish.INSTANCE);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import java.text.Normalizer;
+
+/**
+ * NFKD normalization that returns the input {@link String} itself, without copying, when it is ASCII or already
+ * NFKD normalized, which is the common case for mnemonics and passphrases. Anything else goes to
+ * {@link Normalizer}, so results always equal {@link Normalizer#normalize(CharSequence, Normalizer.Form)}.
+ * <p>
+ * NFKD has no "maybe" quick check results, so {@link Normalizer#isNormalized(CharSequence, Normalizer.Form)} is a
+ * complete answer and does not build a normalized copy.
+ */
+enum QuickCheckNFKDNormalizer implements NFKDNormalizer {
+    INSTANCE;
+
+    @Override
+    public String normalize(final CharSequence charSequence) {
+        if (charSequence instanceof String)
+            return normalize((String) charSequence);
+        if (CharSequences.isAscii(charSequence))
+            return charSequence.toString();
+        return Normalizer.normalize(charSequence, Normalizer.Form.NFKD);
+    }
+
+    String normalize(final String string) {
+        if (CharSequences.isAscii(string) || Normalizer.isNormalized(string, Normalizer.Form.NFKD))
+            return string;
+        return Normalizer.normalize(string, Normalizer.Form.NFKD);
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import java.io.Closeable;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers recently calculated seeds so that deriving the same seed again within a session skips PBKDF2.
+ * <p>
+ * Entries are keyed by an HMAC-SHA256, under a random key made for each cache, of the normalized mnemonic and
+ * passphrase, neither of which is kept. Seeds are held for at most the time to live after being calculated, and the
+ * least recently used are dropped beyond the maximum size. Every seed is cleared as it leaves the cache, whether
+ * evicted, expired, invalidated or on {@link #close}, and callers always get their own copy.
+ * <p>
+ * The cache is split into segments, each with its own lock and an equal share of the maximum size, so threads
+ * mostly look up without contending. PBKDF2 runs outside the locks.
+ * <p>
+ * Expired entries are cleared when next looked up, when they reach the head of a segment being written to, or by
+ * {@link #cleanUp}.
+ */
+public final class SeedCache implements Closeable {
+
+    public enum Counter {
+        HITS,
+        MISSES,
+        /**
+         * Seeds dropped for size or expiry, not those invalidated or closed.
+         */
+        EVICTIONS
+    }
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final SeedCalculator seedCalculator;
+    private final long timeToLiveNanos;
+    private final Segment[] segments;
+    private final StripedCounter[] counters = new StripedCounter[Counter.values().length];
+    private final SeedKey.Hasher keys = new SeedKey.Hasher();
+    private volatile boolean closed;
+
+    /**
+     * @param seedCalculator Calculates the seeds that are not cached.
+     * @param maximumSize    Most seeds to hold.
+     * @param timeToLive     Longest to hold each seed for.
+     * @param unit           Unit of the time to live.
+     */
+    public SeedCache(final SeedCalculator seedCalculator, final int maximumSize, final long timeToLive,
+                     final TimeUnit unit) {
+        if (maximumSize < 1)
+            throw new IllegalArgumentException("Maximum size must be at least 1");
+        if (timeToLive <= 0)
+            throw new IllegalArgumentException("Time to live must be positive");
+        this.seedCalculator = seedCalculator;
+        timeToLiveNanos = unit.toNanos(timeToLive);
+        int segmentCount = 1;
+        while (segmentCount * 2 <= Math.min(MAX_SEGMENTS, maximumSize)) segmentCount <<= 1;
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0));
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new StripedCounter();
+        }
+    }
+
+    /**
+     * Calculate the seed as {@link SeedCalculator#calculateSeed(String, String)}, or copy it from the cache.
+     *
+     * @param mnemonic   The memorable list of words
+     * @param passphrase An optional passphrase, use "" if not required
+     * @return a seed for HD wallet generation, the caller's own copy
+     * @throws IllegalStateException If the cache is closed
+     */
+    public byte[] calculateSeed(final String mnemonic, final String passphrase) {
+        return calculateSeed((CharSequence) mnemonic, passphrase);
+    }
+
+    /**
+     * Calculate the seed as {@link SeedCalculator#calculateSeed(char[], char[])}, or copy it from the cache.
+     *
+     * @param mnemonic   The memorable list of words
+     * @param passphrase An optional passphrase, use an empty array if not required
+     * @return a seed for HD wallet generation, the caller's own copy
+     * @throws IllegalStateException If the cache is closed
+     */
+    public byte[] calculateSeed(final char[] mnemonic, final char[] passphrase) {
+        return calculateSeed(CharBuffer.wrap(mnemonic), CharBuffer.wrap(passphrase));
+    }
+
+    private byte[] calculateSeed(final CharSequence mnemonic, final CharSequence passphrase) {
+        checkNotClosed();
+        final char[] normalizedMnemonic = CharArrayNFKDNormalizer.INSTANCE.normalizeToArray(mnemonic);
+        try {
+            final SeedKey key = keys.key(normalizedMnemonic, passphrase);
+            final Segment segment = segments[key.hashCode() & (segments.length - 1)];
+            synchronized (segment) {
+                final CachedSeed cached = segment.get(key);
+                if (cached != null) {
+                    if (System.nanoTime() - cached.expires < 0) {
+                        counters[Counter.HITS.ordinal()].increment();
+                        return cached.seed.clone();
+                    }
+                    segment.remove(key);
+                    evicted(cached);
+                }
+            }
+            counters[Counter.MISSES.ordinal()].increment();
+            final byte[] seed = seedCalculator.calculateSeed(normalizedMnemonic, passphrase, null);
+            final CachedSeed cached = new CachedSeed(seed.clone(), System.nanoTime() + timeToLiveNanos);
+            synchronized (segment) {
+                if (closed) {
+                    clear(cached);
+                } else {
+                    removeExpiredFromHead(segment);
+                    final CachedSeed previous = segment.put(key, cached);
+                    if (previous != null)
+                        clear(previous);
+                }
+            }
+            return seed;
+        } finally {
+            Arrays.fill(normalizedMnemonic, '\0');
+        }
+    }
+
+    /**
+     * @param counter The counter.
+     * @return Its current total.
+     */
+    public long getCount(final Counter counter) {
+        return counters[counter.ordinal()].sum();
+    }
+
+    /**
+     * @return Number of seeds held, including any expired that have not yet been cleared.
+     */
+    public int size() {
+        int size = 0;
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Clear and drop every expired seed.
+     */
+    public void cleanUp() {
+        final long now = System.nanoTime();
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                final Iterator<CachedSeed> entries = segment.values().iterator();
+                while (entries.hasNext()) {
+                    final CachedSeed cached = entries.next();
+                    if (now - cached.expires >= 0) {
+                        entries.remove();
+                        evicted(cached);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Clear and drop every seed.
+     */
+    public void invalidateAll() {
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                for (final CachedSeed cached : segment.values()) {
+                    clear(cached);
+                }
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Clear and drop every seed, after which the cache cannot be used.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        invalidateAll();
+    }
+
+    /**
+     * @return The seed arrays held, for tests to check they are cleared.
+     */
+    List<byte[]> cachedSeeds() {
+        final List<byte[]> seeds = new ArrayList<>();
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                for (final CachedSeed cached : segment.values()) {
+                    seeds.add(cached.seed);
+                }
+            }
+        }
+        return seeds;
+    }
+
+    private void checkNotClosed() {
+        if (closed)
+            throw new IllegalStateException("Seed cache is closed");
+    }
+
+    private void removeExpiredFromHead(final Segment segment) {
+        final long now = System.nanoTime();
+        final Iterator<CachedSeed> entries = segment.values().iterator();
+        while (entries.hasNext()) {
+            final CachedSeed cached = entries.next();
+            if (now - cached.expires < 0)
+                return;
+            entries.remove();
+            evicted(cached);
+        }
+    }
+
+    private void evicted(final CachedSeed cached) {
+        clear(cached);
+        counters[Counter.EVICTIONS.ordinal()].increment();
+    }
+
+    private static void clear(final CachedSeed cached) {
+        Arrays.fill(cached.seed, (byte) 0);
+    }
+
+    private final class Segment extends LinkedHashMap<SeedKey, CachedSeed> {
+        private final int capacity;
+
+        Segment(final int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<SeedKey, CachedSeed> eldest) {
+            if (size() <= capacity)
+                return false;
+            evicted(eldest.getValue());
+            return true;
+        }
+    }
+
+    private static final class CachedSeed {
+        final byte[] seed;
+        final long expires;
+
+        CachedSeed(final byte[] seed, final long expires) {
+            this.seed = seed;
+            this.expires = expires;
+        }
+    }
+}
@@ -23,9 +23,12 @@ package io.github.elseifn.lib39;
 
 import io.github.elseifn.toruntime.CheckedExceptionToRuntime;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.util.Arrays;
 
-import static io.github.elseifn.lib39.Normalization.normalizeNFKD;
 import static io.github.elseifn.toruntime.CheckedExceptionToRuntime.toRuntime;
 
 /**
@@ -33,11 +36,22 @@ import static io.github.elseifn.toruntime.CheckedExceptionToRuntime.toRuntime;
  */
 public final class SeedCalculator {
 
+    /**
+     * Length in bytes of every seed.
+     */
+    public static final int SEED_LENGTH = 64;
+
     private final byte[] fixedSalt = getUtf8Bytes("mnemonic");
     private final PBKDF2WithHmacSHA512 hashAlgorithm;
+    private final MetricsListener metrics;
 
     public SeedCalculator(final PBKDF2WithHmacSHA512 hashAlgorithm) {
+        this(hashAlgorithm, null);
+    }
+
+    private SeedCalculator(final PBKDF2WithHmacSHA512 hashAlgorithm, final MetricsListener metrics) {
         this.hashAlgorithm = hashAlgorithm;
+        this.metrics = metrics;
     }
 
     /**
@@ -52,8 +66,8 @@ public final class SeedCalculator {
      * Calculate the seed given a mnemonic and corresponding passphrase.
      * The phrase is not checked for validity here, for that use a {@link MnemonicValidator}.
      * <p>
-     * Due to normalization, these need to be {@link String}, and not {@link CharSequence}, this is an open issue:
-     * https://github.com/elseifn/Lib39/issues/7
+     * To keep the mnemonic and passphrase out of {@link String}s altogether, use
+     * {@link #calculateSeed(char[], char[])}.
      * <p>
      * If you have a list of words selected from a word list, you can use {@link #withWordsFromWordList} then
      * {@link SeedCalculatorByWordListLookUp#calculateSeed}
@@ -63,41 +77,314 @@ public final class SeedCalculator {
      * @return a seed for HD wallet generation
      */
     public byte[] calculateSeed(final String mnemonic, final String passphrase) {
-        final char[] chars = normalizeNFKD(mnemonic).toCharArray();
+        final byte[] seed = new byte[SEED_LENGTH];
+        calculateSeed(mnemonic, passphrase, seed, 0);
+        return seed;
+    }
+
+    /**
+     * Calculate the seed given a mnemonic and corresponding passphrase, without creating any {@link String}s.
+     * Both are normalized into arrays that are cleared before returning, the supplied arrays are not modified.
+     * The phrase is not checked for validity here, for that use a {@link MnemonicValidator}.
+     *
+     * @param mnemonic   The memorable list of words
+     * @param passphrase An optional passphrase, use an empty array if not required
+     * @return a seed for HD wallet generation
+     */
+    public byte[] calculateSeed(final char[] mnemonic, final char[] passphrase) {
+        final byte[] seed = new byte[SEED_LENGTH];
+        calculateSeed(mnemonic, passphrase, seed, 0);
+        return seed;
+    }
+
+    /**
+     * Calculate the seed into the caller's array, as {@link #calculateSeed(String, String)}.
+     * <p>
+     * Nothing holding the mnemonic, passphrase or seed is allocated, each thread's buffers are reused and cleared
+     * before returning, so this suits streaming many seeds into one large array.
+     *
+     * @param mnemonic   The memorable list of words
+     * @param passphrase An optional passphrase, use "" if not required
+     * @param seed       Where to write the {@link #SEED_LENGTH} bytes of seed
+     * @param offset     Position in {@code seed} of the first byte
+     * @throws IndexOutOfBoundsException If the seed does not fit at the offset
+     */
+    public void calculateSeed(final String mnemonic, final String passphrase, final byte[] seed, final int offset) {
+        checkBounds(seed, offset);
+        calculateSeed((CharSequence) mnemonic, passphrase, seed, offset);
+    }
+
+    /**
+     * Calculate the seed into the caller's array, as {@link #calculateSeed(char[], char[])} and
+     * {@link #calculateSeed(String, String, byte[], int)}.
+     *
+     * @param mnemonic   The memorable list of words
+     * @param passphrase An optional passphrase, use an empty array if not required
+     * @param seed       Where to write the {@link #SEED_LENGTH} bytes of seed
+     * @param offset     Position in {@code seed} of the first byte
+     * @throws IndexOutOfBoundsException If the seed does not fit at the offset
+     */
+    public void calculateSeed(final char[] mnemonic, final char[] passphrase, final byte[] seed, final int offset) {
+        checkBounds(seed, offset);
+        calculateSeed(CharBuffer.wrap(mnemonic), CharBuffer.wrap(passphrase), seed, offset);
+    }
+
+    /**
+     * Calculate the seed into a buffer, which may be direct, at its position, which advances by
+     * {@link #SEED_LENGTH}. Otherwise as {@link #calculateSeed(String, String, byte[], int)}.
+     *
+     * @param mnemonic   The memorable list of words
+     * @param passphrase An optional passphrase, use "" if not required
+     * @param seed       Where to write the seed
+     * @throws BufferOverflowException If fewer than {@link #SEED_LENGTH} bytes remain
+     * @throws ReadOnlyBufferException If the buffer is read only
+     */
+    public void calculateSeed(final String mnemonic, final String passphrase, final ByteBuffer seed) {
+        calculateSeed((CharSequence) mnemonic, passphrase, seed);
+    }
+
+    /**
+     * Calculate the seed into a buffer, which may be direct, at its position, which advances by
+     * {@link #SEED_LENGTH}. Otherwise as {@link #calculateSeed(char[], char[], byte[], int)}.
+     *
+     * @param mnemonic   The memorable list of words
+     * @param passphrase An optional passphrase, use an empty array if not required
+     * @param seed       Where to write the seed
+     * @throws BufferOverflowException If fewer than {@link #SEED_LENGTH} bytes remain
+     * @throws ReadOnlyBufferException If the buffer is read only
+     */
+    public void calculateSeed(final char[] mnemonic, final char[] passphrase, final ByteBuffer seed) {
+        calculateSeed(CharBuffer.wrap(mnemonic), CharBuffer.wrap(passphrase), seed);
+    }
+
+    /**
+     * Calculate the BIP32 master key of a mnemonic and passphrase, which is the HMAC-SHA512 of the seed keyed with
+     * "Bitcoin seed", without returning the seed. It is only held in this thread's buffers, which are cleared before
+     * returning, and the HMAC runs on this thread's SHA-512 engine.
+     * The phrase is not checked for validity here, for that use a {@link MnemonicValidator}.
+     *
+     * @param mnemonic   The memorable list of words
+     * @param passphrase An optional passphrase, use "" if not required
+     * @return the master private key and chain code
+     */
+    public MasterKey calculateMasterKey(final String mnemonic, final String passphrase) {
+        final byte[] key = new byte[MasterKey.LENGTH];
+        calculateMasterKey((CharSequence) mnemonic, passphrase, key, 0);
+        return new MasterKey(key);
+    }
+
+    /**
+     * Calculate the BIP32 master key of a mnemonic and passphrase as {@link #calculateMasterKey(String, String)},
+     * without creating any {@link String}s.
+     *
+     * @param mnemonic   The memorable list of words
+     * @param passphrase An optional passphrase, use an empty array if not required
+     * @return the master private key and chain code
+     */
+    public MasterKey calculateMasterKey(final char[] mnemonic, final char[] passphrase) {
+        final byte[] key = new byte[MasterKey.LENGTH];
+        calculateMasterKey(CharBuffer.wrap(mnemonic), CharBuffer.wrap(passphrase), key, 0);
+        return new MasterKey(key);
+    }
+
+    /**
+     * Calculate the BIP32 master keys of many mnemonics with one passphrase, as
+     * {@link #calculateMasterKey(char[], char[])}, into the caller's array. Each is written as the
+     * {@link MasterKey#LENGTH} bytes of private key then chain code, one after another in the order of the mnemonics.
+     * Nothing holding a mnemonic, seed or key is allocated.
+     *
+     * @param mnemonics  The memorable lists of words
+     * @param passphrase An optional passphrase, use an empty array if not required
+     * @param keys       Where to write the master keys
+     * @param offset     Position in {@code keys} of the first byte
+     * @throws IndexOutOfBoundsException If the keys do not fit at the offset
+     */
+    public void calculateMasterKeys(final char[][] mnemonics, final char[] passphrase, final byte[] keys,
+                                    final int offset) {
+        final long length = (long) mnemonics.length * MasterKey.LENGTH;
+        if (offset < 0 || offset + length > keys.length)
+            throw new IndexOutOfBoundsException(mnemonics.length + " master keys do not fit at offset " + offset +
+                    " of an array of length " + keys.length);
+        final CharBuffer passphraseChars = CharBuffer.wrap(passphrase);
+        for (int i = 0; i < mnemonics.length; i++) {
+            calculateMasterKey(CharBuffer.wrap(mnemonics[i]), passphraseChars, keys, offset + i * MasterKey.LENGTH);
+        }
+    }
+
+    private void calculateMasterKey(final CharSequence mnemonic, final CharSequence passphrase, final byte[] key,
+                                    final int offset) {
+        final long start = metrics == null ? 0 : System.nanoTime();
+        final SeedScratch scratch = SeedScratch.acquire();
+        try {
+            final char[] chars = scratch.mnemonic(CharArrayNFKDNormalizer.maxNormalizedLength(mnemonic.length()));
+            final int length = normalize(mnemonic, chars);
+            calculateSeed(chars, length, passphrase, start, null, scratch, scratch.seed, 0);
+            MasterKey.derive(scratch.seed, 0, key, offset);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    /**
+     * @param mnemonicChars Normalized mnemonic.
+     * @param passphrase    Passphrase, not yet normalized.
+     * @param language      Word list name for flight recorder events, or null if not known.
+     * @return The master key.
+     */
+    MasterKey calculateMasterKey(final char[] mnemonicChars, final CharSequence passphrase, final String language) {
+        final long start = metrics == null ? 0 : System.nanoTime();
+        final byte[] key = new byte[MasterKey.LENGTH];
+        final SeedScratch scratch = SeedScratch.acquire();
+        try {
+            calculateSeed(mnemonicChars, mnemonicChars.length, passphrase, start, language, scratch, scratch.seed, 0);
+            MasterKey.derive(scratch.seed, 0, key, 0);
+        } finally {
+            scratch.release();
+        }
+        return new MasterKey(key);
+    }
+
+    private void calculateSeed(final CharSequence mnemonic, final CharSequence passphrase, final ByteBuffer seed) {
+        if (seed.isReadOnly())
+            throw new ReadOnlyBufferException();
+        if (seed.remaining() < SEED_LENGTH)
+            throw new BufferOverflowException();
+        if (seed.hasArray()) {
+            calculateSeed(mnemonic, passphrase, seed.array(), seed.arrayOffset() + seed.position());
+            seed.position(seed.position() + SEED_LENGTH);
+            return;
+        }
+        final long start = metrics == null ? 0 : System.nanoTime();
+        final SeedScratch scratch = SeedScratch.acquire();
+        try {
+            final char[] chars = scratch.mnemonic(CharArrayNFKDNormalizer.maxNormalizedLength(mnemonic.length()));
+            final int length = normalize(mnemonic, chars);
+            calculateSeed(chars, length, passphrase, start, null, scratch, scratch.seed, 0);
+            seed.put(scratch.seed);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    private void calculateSeed(final CharSequence mnemonic, final CharSequence passphrase, final byte[] seed,
+                               final int offset) {
+        final long start = metrics == null ? 0 : System.nanoTime();
+        final SeedScratch scratch = SeedScratch.acquire();
+        try {
+            final char[] chars = scratch.mnemonic(CharArrayNFKDNormalizer.maxNormalizedLength(mnemonic.length()));
+            final int length = normalize(mnemonic, chars);
+            calculateSeed(chars, length, passphrase, start, null, scratch, seed, offset);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    /**
+     * @param mnemonicChars Normalized mnemonic.
+     * @param passphrase    Passphrase, not yet normalized.
+     * @param language      Word list name for flight recorder events, or null if not known.
+     * @return The seed.
+     */
+    byte[] calculateSeed(final char[] mnemonicChars, final CharSequence passphrase, final String language) {
+        final long start = metrics == null ? 0 : System.nanoTime();
+        final byte[] seed = new byte[SEED_LENGTH];
+        final SeedScratch scratch = SeedScratch.acquire();
+        try {
+            calculateSeed(mnemonicChars, mnemonicChars.length, passphrase, start, language, scratch, seed, 0);
+        } finally {
+            scratch.release();
+        }
+        return seed;
+    }
+
+    private void calculateSeed(final char[] mnemonicChars, final int mnemonicLength, final CharSequence passphrase,
+                               final long start, final String language, final SeedScratch scratch,
+                               final byte[] seed, final int offset) {
+        final Object event = FlightRecorderEvents.begin(FlightRecorderEvents.Type.SEED_CALCULATION);
+        if (event == null) {
+            calculateSeed(mnemonicChars, mnemonicLength, passphrase, start, scratch, seed, offset);
+            return;
+        }
+        String outcome = FlightRecorderEvents.FAILURE;
         try {
-            return calculateSeed(chars, passphrase);
+            calculateSeed(mnemonicChars, mnemonicLength, passphrase, start, scratch, seed, offset);
+            outcome = FlightRecorderEvents.SUCCESS;
         } finally {
-            Arrays.fill(chars, '\0');
+            FlightRecorderEvents.commit(event, wordCount(mnemonicChars, mnemonicLength), language,
+                    FlightRecorderEvents.implementation(hashAlgorithm), outcome);
         }
     }
 
-    byte[] calculateSeed(final char[] mnemonicChars, final String passphrase) {
-        final String normalizedPassphrase = normalizeNFKD(passphrase);
-        final byte[] salt2 = getUtf8Bytes(normalizedPassphrase);
-        final byte[] salt = combine(fixedSalt, salt2);
-        clear(salt2);
-        final byte[] encoded = hash(mnemonicChars, salt);
-        clear(salt);
-        return encoded;
+    private void calculateSeed(final char[] mnemonicChars, final int mnemonicLength, final CharSequence passphrase,
+                               final long start, final SeedScratch scratch, final byte[] seed, final int offset) {
+        final char[] normalizedPassphrase =
+                scratch.passphrase(CharArrayNFKDNormalizer.maxNormalizedLength(passphrase.length()));
+        final int length = normalize(passphrase, normalizedPassphrase);
+        final int saltLength = fixedSalt.length + Utf8Encoding.encodedLength(normalizedPassphrase, 0, length);
+        final byte[] salt = scratch.salt(saltLength);
+        System.arraycopy(fixedSalt, 0, salt, 0, fixedSalt.length);
+        Utf8Encoding.encode(normalizedPassphrase, 0, length, salt, fixedSalt.length);
+        if (metrics == null) {
+            hash(mnemonicChars, mnemonicLength, salt, saltLength, seed, offset);
+            return;
+        }
+        final long hashStart = System.nanoTime();
+        hash(mnemonicChars, mnemonicLength, salt, saltLength, seed, offset);
+        metrics.seedCalculated(hashStart - start, System.nanoTime() - hashStart);
+    }
+
+    /**
+     * @param metrics Listener to tell about each seed calculated, or null for none.
+     * @return A seed calculator using the same PBKDF2 implementation that reports to the listener.
+     */
+    public SeedCalculator withMetrics(final MetricsListener metrics) {
+        return new SeedCalculator(hashAlgorithm, metrics);
     }
 
     public SeedCalculatorByWordListLookUp withWordsFromWordList(final WordList wordList) {
         return new SeedCalculatorByWordListLookUp(this, wordList);
     }
 
-    private static byte[] combine(final byte[] array1, final byte[] array2) {
-        final byte[] bytes = new byte[array1.length + array2.length];
-        System.arraycopy(array1, 0, bytes, 0, array1.length);
-        System.arraycopy(array2, 0, bytes, array1.length, bytes.length - array1.length);
-        return bytes;
+    private static int normalize(final CharSequence source, final char[] destination) {
+        final int length = CharArrayNFKDNormalizer.INSTANCE.normalize(source, destination);
+        if (length < 0)
+            throw new IllegalStateException("Normalized form does not fit " + destination.length + " chars");
+        return length;
     }
 
-    private static void clear(final byte[] salt) {
-        Arrays.fill(salt, (byte) 0);
+    private static int wordCount(final char[] normalizedMnemonic, final int length) {
+        if (length == 0)
+            return 0;
+        int count = 1;
+        for (int i = 0; i < length; i++)
+            if (normalizedMnemonic[i] == ' ') count++;
+        return count;
     }
 
-    private byte[] hash(final char[] chars, final byte[] salt) {
-        return hashAlgorithm.hash(chars, salt);
+    private static void checkBounds(final byte[] seed, final int offset) {
+        if (offset < 0 || offset > seed.length - SEED_LENGTH)
+            throw new IndexOutOfBoundsException("A " + SEED_LENGTH + " byte seed does not fit at offset " + offset +
+                    " of an array of length " + seed.length);
+    }
+
+    private void hash(final char[] chars, final int charsLength, final byte[] salt, final int saltLength,
+                      final byte[] out, final int offset) {
+        if (hashAlgorithm instanceof PBKDF2WithHmacSHA512ToBuffer) {
+            ((PBKDF2WithHmacSHA512ToBuffer) hashAlgorithm).hash(chars, charsLength, salt, saltLength, out, offset);
+            return;
+        }
+        final char[] exactChars = Arrays.copyOf(chars, charsLength);
+        final byte[] exactSalt = Arrays.copyOf(salt, saltLength);
+        byte[] hash = null;
+        try {
+            hash = hashAlgorithm.hash(exactChars, exactSalt);
+            System.arraycopy(hash, 0, out, offset, SEED_LENGTH);
+        } finally {
+            Arrays.fill(exactChars, '\0');
+            Arrays.fill(exactSalt, (byte) 0);
+            if (hash != null)
+                Arrays.fill(hash, (byte) 0);
+        }
     }
 
     private static byte[] getUtf8Bytes(final String string) {
@@ -21,20 +21,19 @@
 
 package io.github.elseifn.lib39;
 
-import java.util.*;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Collection;
 
 public final class SeedCalculatorByWordListLookUp {
     private final SeedCalculator seedCalculator;
-    private final Map<CharSequence, char[]> map = new HashMap<>();
-    private final NFKDNormalizer normalizer;
+    private final PackedWordList words;
+    private final String language;
 
     SeedCalculatorByWordListLookUp(final SeedCalculator seedCalculator, final WordList wordList) {
         this.seedCalculator = seedCalculator;
-        normalizer = new WordListMapNormalization(wordList);
-        for (int i = 0; i < 1 << 11; i++) {
-            final String word = normalizer.normalize(wordList.getWord(i));
-            map.put(word, word.toCharArray());
-        }
+        words = PackedWordList.of(wordList);
+        language = FlightRecorderEvents.language(wordList);
     }
 
     /**
@@ -45,45 +44,134 @@ public final class SeedCalculatorByWordListLookUp {
      * words from the user and also to avoid having to normalize it, all words in the {@link WordList} are normalized
      * instead.
      * <p>
-     * Due to normalization, the passphrase still needs to be {@link String}, and not {@link CharSequence}, this is an
-     * open issue: https://github.com/elseifn/Lib39/issues/7
+     * To keep the passphrase out of {@link String}s too, use {@link #calculateSeed(Collection, char[])}.
      *
      * @param mnemonic   The memorable list of words, ideally selected from the word list that was supplied while creating this object.
      * @param passphrase An optional passphrase, use "" if not required
      * @return a seed for HD wallet generation
      */
     public byte[] calculateSeed(final Collection<? extends CharSequence> mnemonic, final String passphrase) {
-        final int words = mnemonic.size();
-        final char[][] chars = new char[words][];
-        final List<char[]> toClear = new LinkedList<>();
-        int count = 0;
+        return calculateSeed(mnemonic, (CharSequence) passphrase);
+    }
+
+    /**
+     * Calculate the seed given a mnemonic and corresponding passphrase, as {@link #calculateSeed(Collection, String)}
+     * but normalizing the passphrase into an array that is cleared before returning.
+     *
+     * @param mnemonic   The memorable list of words, ideally selected from the word list that was supplied while creating this object.
+     * @param passphrase An optional passphrase, use an empty array if not required
+     * @return a seed for HD wallet generation
+     */
+    public byte[] calculateSeed(final Collection<? extends CharSequence> mnemonic, final char[] passphrase) {
+        return calculateSeed(mnemonic, CharBuffer.wrap(passphrase));
+    }
+
+    /**
+     * Calculate the seed of a mnemonic from its word indexes, with the words of the word list supplied while
+     * creating this object, without validating or normalizing it again.
+     *
+     * @param mnemonic   A mnemonic from {@link MnemonicValidator#parse} or {@link MnemonicGenerator#createMnemonic(byte[])}
+     * @param passphrase An optional passphrase, use "" if not required
+     * @return a seed for HD wallet generation
+     */
+    public byte[] calculateSeed(final Mnemonic mnemonic, final String passphrase) {
+        return calculateSeed(mnemonic, (CharSequence) passphrase);
+    }
+
+    /**
+     * Calculate the seed of a mnemonic from its word indexes, as {@link #calculateSeed(Mnemonic, String)} but
+     * normalizing the passphrase into an array that is cleared before returning.
+     *
+     * @param mnemonic   A mnemonic from {@link MnemonicValidator#parse} or {@link MnemonicGenerator#createMnemonic(byte[])}
+     * @param passphrase An optional passphrase, use an empty array if not required
+     * @return a seed for HD wallet generation
+     */
+    public byte[] calculateSeed(final Mnemonic mnemonic, final char[] passphrase) {
+        return calculateSeed(mnemonic, CharBuffer.wrap(passphrase));
+    }
+
+    /**
+     * Calculate the BIP32 master key of a mnemonic from its word indexes, as
+     * {@link SeedCalculator#calculateMasterKey(char[], char[])}, with the words of the word list supplied while
+     * creating this object.
+     *
+     * @param mnemonic   A mnemonic from {@link MnemonicValidator#parse} or {@link MnemonicGenerator#createMnemonic(byte[])}
+     * @param passphrase An optional passphrase, use an empty array if not required
+     * @return the master private key and chain code
+     */
+    public MasterKey calculateMasterKey(final Mnemonic mnemonic, final char[] passphrase) {
+        final char[] mnemonicChars = normalizedChars(mnemonic);
+        try {
+            return seedCalculator.calculateMasterKey(mnemonicChars, CharBuffer.wrap(passphrase), language);
+        } finally {
+            Arrays.fill(mnemonicChars, '\0');
+        }
+    }
+
+    private byte[] calculateSeed(final Mnemonic mnemonic, final CharSequence passphrase) {
+        final char[] mnemonicChars = normalizedChars(mnemonic);
+        try {
+            return seedCalculator.calculateSeed(mnemonicChars, passphrase, language);
+        } finally {
+            Arrays.fill(mnemonicChars, '\0');
+        }
+    }
+
+    /**
+     * @return The normalized mnemonic, the caller should clear it after use.
+     */
+    private char[] normalizedChars(final Mnemonic mnemonic) {
+        final int wordCount = mnemonic.getWordCount();
+        int count = wordCount - 1;
+        for (int i = 0; i < wordCount; i++) {
+            count += words.normalizedLength(mnemonic.getWordIndex(i));
+        }
+        final char[] mnemonicChars = new char[count];
+        for (int i = 0, index = 0; i < wordCount; i++) {
+            if (i > 0) mnemonicChars[index++] = ' ';
+            index += words.copyNormalized(mnemonic.getWordIndex(i), mnemonicChars, index);
+        }
+        return mnemonicChars;
+    }
+
+    private byte[] calculateSeed(final Collection<? extends CharSequence> mnemonic, final CharSequence passphrase) {
+        final int wordCount = mnemonic.size();
+        final int[] wordIndexes = new int[wordCount];
+        final char[][] offListWords = new char[wordCount][];
+        int count = wordCount - 1;
         int wordIndex = 0;
         for (final CharSequence word : mnemonic) {
-            char[] wordChars = map.get(normalizer.normalize(word));
-            if (wordChars == null) {
-                wordChars = normalizer.normalize(word).toCharArray();
-                toClear.add(wordChars);
+            final int index = words.indexOf(word);
+            wordIndexes[wordIndex] = index;
+            if (index >= 0) {
+                count += words.normalizedLength(index);
+            } else {
+                offListWords[wordIndex] = CharArrayNFKDNormalizer.INSTANCE.normalizeToArray(word);
+                count += offListWords[wordIndex].length;
             }
-            chars[wordIndex++] = wordChars;
-            count += wordChars.length;
+            wordIndex++;
         }
-        count += words - 1;
         final char[] mnemonicChars = new char[count];
         try {
             int index = 0;
-            for (int i = 0; i < chars.length; i++) {
-                System.arraycopy(chars[i], 0, mnemonicChars, index, chars[i].length);
-                index += chars[i].length;
-                if (i < chars.length - 1) {
+            for (int i = 0; i < wordCount; i++) {
+                if (wordIndexes[i] >= 0) {
+                    index += words.copyNormalized(wordIndexes[i], mnemonicChars, index);
+                } else {
+                    System.arraycopy(offListWords[i], 0, mnemonicChars, index, offListWords[i].length);
+                    index += offListWords[i].length;
+                }
+                if (i < wordCount - 1) {
                     mnemonicChars[index++] = ' ';
                 }
             }
-            return seedCalculator.calculateSeed(mnemonicChars, passphrase);
+            return seedCalculator.calculateSeed(mnemonicChars, passphrase, language);
         } finally {
             Arrays.fill(mnemonicChars, '\0');
-            Arrays.fill(chars, null);
-            for (final char[] charsToClear : toClear)
-                Arrays.fill(charsToClear, '\0');
+            Arrays.fill(wordIndexes, 0);
+            for (final char[] charsToClear : offListWords)
+                if (charsToClear != null)
+                    Arrays.fill(charsToClear, '\0');
         }
     }
 }
@@ -0,0 +1,117 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import io.github.elseifn.toruntime.CheckedExceptionToRuntime;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import static io.github.elseifn.toruntime.CheckedExceptionToRuntime.toRuntime;
+
+/**
+ * Identifies a seed by an HMAC-SHA256 of its normalized mnemonic and passphrase, so that seeds can be looked up
+ * without holding either.
+ */
+final class SeedKey {
+
+    private final byte[] hash;
+    private final int hashCode;
+
+    private SeedKey(final byte[] hash) {
+        this.hash = hash;
+        hashCode = (hash[0] & 0xff) << 24 | (hash[1] & 0xff) << 16 | (hash[2] & 0xff) << 8 | hash[3] & 0xff;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof SeedKey && Arrays.equals(hash, ((SeedKey) o).hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    /**
+     * Makes keys under its own random HMAC key, with one HMAC per thread. Hashes the length of the normalized
+     * mnemonic in UTF-8, then it, then the normalized passphrase in UTF-8.
+     */
+    static final class Hasher {
+        private final ThreadLocal<Mac> macs;
+
+        Hasher() {
+            final byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            final SecretKeySpec keySpec = new SecretKeySpec(key, "HmacSHA256");
+            Arrays.fill(key, (byte) 0);
+            macs = new ThreadLocal<Mac>() {
+                @Override
+                protected Mac initialValue() {
+                    return toRuntime(new CheckedExceptionToRuntime.Func<Mac>() {
+                        @Override
+                        public Mac run() throws Exception {
+                            final Mac mac = Mac.getInstance("HmacSHA256");
+                            mac.init(keySpec);
+                            return mac;
+                        }
+                    });
+                }
+            };
+        }
+
+        /**
+         * @param normalizedMnemonic The mnemonic, already normalized.
+         * @param passphrase         The passphrase, not yet normalized.
+         * @return The key for the seed.
+         */
+        SeedKey key(final char[] normalizedMnemonic, final CharSequence passphrase) {
+            final Mac mac = macs.get();
+            final char[] normalizedPassphrase = CharArrayNFKDNormalizer.INSTANCE.normalizeToArray(passphrase);
+            try {
+                final int mnemonicLength = Utf8Encoding.encodedLength(normalizedMnemonic, 0, normalizedMnemonic.length);
+                mac.update((byte) (mnemonicLength >>> 24));
+                mac.update((byte) (mnemonicLength >>> 16));
+                mac.update((byte) (mnemonicLength >>> 8));
+                mac.update((byte) mnemonicLength);
+                update(mac, normalizedMnemonic, mnemonicLength);
+                update(mac, normalizedPassphrase,
+                        Utf8Encoding.encodedLength(normalizedPassphrase, 0, normalizedPassphrase.length));
+                return new SeedKey(mac.doFinal());
+            } finally {
+                Arrays.fill(normalizedPassphrase, '\0');
+            }
+        }
+
+        private static void update(final Mac mac, final char[] chars, final int encodedLength) {
+            final byte[] bytes = new byte[encodedLength];
+            try {
+                Utf8Encoding.encode(chars, 0, chars.length, bytes, 0);
+                mac.update(bytes);
+            } finally {
+                Arrays.fill(bytes, (byte) 0);
+            }
+        }
+    }
+}
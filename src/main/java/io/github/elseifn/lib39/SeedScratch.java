@@ -0,0 +1,133 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import java.util.Arrays;
+
+/**
+ * Buffers for one seed calculation, reused by each thread so that calculating a seed into a caller's buffer creates
+ * no garbage holding key material. Everything used is cleared on {@link #release}, and buffers grown past
+ * {@link #MAX_RETAINED_LENGTH} for an unusually long passphrase are dropped rather than kept by the thread.
+ */
+final class SeedScratch {
+
+    private static final ThreadLocal<SeedScratch> INSTANCE = new ThreadLocal<SeedScratch>() {
+        @Override
+        protected SeedScratch initialValue() {
+            return new SeedScratch();
+        }
+    };
+
+    /**
+     * Enough for the normalization bound of any 24 word mnemonic in the bundled languages.
+     */
+    static final int MAX_RETAINED_LENGTH = 8192;
+
+    private static final char[] NO_CHARS = new char[0];
+    private static final byte[] NO_BYTES = new byte[0];
+
+    final byte[] seed = new byte[SeedCalculator.SEED_LENGTH];
+    private char[] mnemonic = NO_CHARS;
+    private char[] passphrase = NO_CHARS;
+    private byte[] salt = NO_BYTES;
+    private int mnemonicUsed;
+    private int passphraseUsed;
+    private int saltUsed;
+    private boolean inUse;
+
+    private SeedScratch() {
+    }
+
+    /**
+     * @return This thread's scratch, or a new one if it is already in use further up the stack, for example by a
+     * {@link MetricsListener} that calculates seeds.
+     */
+    static SeedScratch acquire() {
+        final SeedScratch scratch = INSTANCE.get();
+        if (scratch.inUse)
+            return new SeedScratch();
+        scratch.inUse = true;
+        return scratch;
+    }
+
+    /**
+     * @param length Chars needed.
+     * @return A buffer of at least that length for the normalized mnemonic.
+     * @throws IllegalArgumentException If length is negative.
+     */
+    char[] mnemonic(final int length) {
+        checkLength(length);
+        if (mnemonic.length < length) {
+            Arrays.fill(mnemonic, 0, mnemonicUsed, '\0');
+            mnemonic = new char[length];
+        }
+        mnemonicUsed = Math.max(mnemonicUsed, length);
+        return mnemonic;
+    }
+
+    /**
+     * @param length Chars needed.
+     * @return A buffer of at least that length for the normalized passphrase.
+     * @throws IllegalArgumentException If length is negative.
+     */
+    char[] passphrase(final int length) {
+        checkLength(length);
+        if (passphrase.length < length) {
+            Arrays.fill(passphrase, 0, passphraseUsed, '\0');
+            passphrase = new char[length];
+        }
+        passphraseUsed = Math.max(passphraseUsed, length);
+        return passphrase;
+    }
+
+    /**
+     * @param length Bytes needed.
+     * @return A buffer of at least that length for the salt.
+     * @throws IllegalArgumentException If length is negative.
+     */
+    byte[] salt(final int length) {
+        checkLength(length);
+        if (salt.length < length) {
+            Arrays.fill(salt, 0, saltUsed, (byte) 0);
+            salt = new byte[length];
+        }
+        saltUsed = Math.max(saltUsed, length);
+        return salt;
+    }
+
+    void release() {
+        Arrays.fill(mnemonic, 0, mnemonicUsed, '\0');
+        Arrays.fill(passphrase, 0, passphraseUsed, '\0');
+        Arrays.fill(salt, 0, saltUsed, (byte) 0);
+        Arrays.fill(seed, (byte) 0);
+        mnemonicUsed = passphraseUsed = saltUsed = 0;
+        if (mnemonic.length > MAX_RETAINED_LENGTH) mnemonic = NO_CHARS;
+        if (passphrase.length > MAX_RETAINED_LENGTH) passphrase = NO_CHARS;
+        if (salt.length > MAX_RETAINED_LENGTH) salt = NO_BYTES;
+        inUse = false;
+    }
+
+    private static void checkLength(final int length) {
+        if (length < 0)
+            throw new IllegalArgumentException("Negative length " + length);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import java.security.SecureRandom;
+
+/**
+ * SipHash-2-4, https://131002.net/siphash/, a keyed hash for hash codes of secret data that do not give away the
+ * data to anyone without the key, and cannot be made to collide at will.
+ */
+final class SipHash {
+
+    private final long k0;
+    private final long k1;
+
+    SipHash(final long k0, final long k1) {
+        this.k0 = k0;
+        this.k1 = k1;
+    }
+
+    /**
+     * @return A hash under a random key, for hash codes that only need to agree within this process.
+     */
+    static SipHash withRandomKey() {
+        final SecureRandom random = new SecureRandom();
+        return new SipHash(random.nextLong(), random.nextLong());
+    }
+
+    /**
+     * @param data   Bytes to hash.
+     * @param offset Start of the bytes.
+     * @param length Number of bytes.
+     * @return The 64 bit hash.
+     */
+    long hash(final byte[] data, final int offset, final int length) {
+        long v0 = k0 ^ 0x736f6d6570736575L;
+        long v1 = k1 ^ 0x646f72616e646f6dL;
+        long v2 = k0 ^ 0x6c7967656e657261L;
+        long v3 = k1 ^ 0x7465646279746573L;
+        final int words = length / 8 + 1;
+        for (int w = 0; w < words; w++) {
+            final long m = word(data, offset, length, w);
+            v3 ^= m;
+            for (int r = 0; r < 2; r++) {
+                v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+                v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+                v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+                v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+            }
+            v0 ^= m;
+        }
+        v2 ^= 0xff;
+        for (int r = 0; r < 4; r++) {
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+        }
+        return v0 ^ v1 ^ v2 ^ v3;
+    }
+
+    /**
+     * @return Little endian word w of the message, the last one being the remaining bytes with the length in its top
+     * byte.
+     */
+    private static long word(final byte[] data, final int offset, final int length, final int w) {
+        final int start = offset + w * 8;
+        final int count = Math.min(8, offset + length - start);
+        long m = count < 8 ? (long) length << 56 : 0;
+        for (int i = 0; i < count; i++) {
+            m |= (data[start + i] & 0xffL) << (8 * i);
+        }
+        return m;
+    }
+}
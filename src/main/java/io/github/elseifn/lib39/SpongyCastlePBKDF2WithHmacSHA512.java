@@ -21,22 +21,156 @@
 
 package io.github.elseifn.lib39;
 
-import org.spongycastle.crypto.PBEParametersGenerator;
 import org.spongycastle.crypto.digests.SHA512Digest;
-import org.spongycastle.crypto.generators.PKCS5S2ParametersGenerator;
-import org.spongycastle.crypto.params.KeyParameter;
+
+import java.util.Arrays;
 
 /**
  * This implementation is useful for older Java implementations, for example it is suitable for all Android API levels.
+ * <p>
+ * Each thread keeps its own digests and buffers, reset and cleared after every hash, so the only allocation per hash
+ * is the returned array.
  */
-public enum SpongyCastlePBKDF2WithHmacSHA512 implements PBKDF2WithHmacSHA512 {
+public enum SpongyCastlePBKDF2WithHmacSHA512 implements PBKDF2WithHmacSHA512ToBuffer {
     INSTANCE;
 
     @Override
-    public byte[] hash(char[] chars, byte[] salt) {
-        PKCS5S2ParametersGenerator generator = new PKCS5S2ParametersGenerator(new SHA512Digest());
-        generator.init(PBEParametersGenerator.PKCS5PasswordToUTF8Bytes(chars), salt, 2048);
-        KeyParameter key = (KeyParameter) generator.generateDerivedMacParameters(512);
-        return key.getKey();
+    public byte[] hash(final char[] chars, final byte[] salt) {
+        final byte[] hash = new byte[SeedCalculator.SEED_LENGTH];
+        Engine.INSTANCE.get().hash(chars, chars.length, salt, salt.length, hash, 0);
+        return hash;
+    }
+
+    @Override
+    public void hash(final char[] chars, final int charsLength, final byte[] salt, final int saltLength,
+                     final byte[] out, final int offset) {
+        Engine.INSTANCE.get().hash(chars, charsLength, salt, saltLength, out, offset);
+    }
+
+    /**
+     * One HMAC-SHA512 on this thread's engine.
+     *
+     * @param key       The HMAC key.
+     * @param message   The message, {@link SeedCalculator#SEED_LENGTH} bytes from {@code messageOffset}.
+     * @param out       Where to write the 64 byte HMAC.
+     * @param outOffset Position in {@code out} of the first byte.
+     */
+    static void hmacSha512(final byte[] key, final byte[] message, final int messageOffset, final byte[] out,
+                           final int outOffset) {
+        Engine.INSTANCE.get().hmac(key, message, messageOffset, out, outOffset);
+    }
+
+    /**
+     * HMAC-SHA512 built from two digests whose keyed states are saved once per password, so that each of the 2048
+     * iterations restores them rather than allocating copies as {@code HMac} does. One per thread, everything is
+     * cleared after each use. Also used for the single HMAC from a seed to a BIP32 master key.
+     */
+    private static final class Engine {
+        private static final int ITERATIONS = 2048;
+        private static final byte IPAD = 0x36;
+        private static final byte OPAD = 0x5c;
+
+        static final ThreadLocal<Engine> INSTANCE = new ThreadLocal<Engine>() {
+            @Override
+            protected Engine initialValue() {
+                return new Engine();
+            }
+        };
+
+        private final SHA512Digest inner = new SHA512Digest();
+        private final SHA512Digest outer = new SHA512Digest();
+        private final SHA512Digest innerKeyed = new SHA512Digest();
+        private final SHA512Digest outerKeyed = new SHA512Digest();
+        private final byte[] pad = new byte[inner.getByteLength()];
+        private final byte[] innerHash = new byte[inner.getDigestSize()];
+        private final byte[] block = new byte[inner.getDigestSize()];
+        private byte[] password = new byte[0];
+
+        void hash(final char[] chars, final int charsLength, final byte[] salt, final int saltLength,
+                  final byte[] out, final int offset) {
+            final int passwordLength = Utf8Encoding.encodedLength(chars, 0, charsLength);
+            if (password.length < passwordLength)
+                password = new byte[passwordLength];
+            try {
+                Utf8Encoding.encode(chars, 0, charsLength, password, 0);
+                key(password, passwordLength);
+                inner.reset(innerKeyed);
+                inner.update(salt, 0, saltLength);
+                inner.update((byte) 0);
+                inner.update((byte) 0);
+                inner.update((byte) 0);
+                inner.update((byte) 1);
+                mac();
+                System.arraycopy(block, 0, out, offset, block.length);
+                for (int i = 1; i < ITERATIONS; i++) {
+                    inner.reset(innerKeyed);
+                    inner.update(block, 0, block.length);
+                    mac();
+                    for (int j = 0; j < block.length; j++) {
+                        out[offset + j] ^= block[j];
+                    }
+                }
+            } finally {
+                Arrays.fill(password, 0, passwordLength, (byte) 0);
+                clear();
+            }
+        }
+
+        void hmac(final byte[] key, final byte[] message, final int messageOffset, final byte[] out,
+                  final int outOffset) {
+            try {
+                key(key, key.length);
+                inner.reset(innerKeyed);
+                inner.update(message, messageOffset, SeedCalculator.SEED_LENGTH);
+                mac();
+                System.arraycopy(block, 0, out, outOffset, block.length);
+            } finally {
+                clear();
+            }
+        }
+
+        private void clear() {
+            Arrays.fill(pad, (byte) 0);
+            Arrays.fill(innerHash, (byte) 0);
+            Arrays.fill(block, (byte) 0);
+            inner.reset();
+            outer.reset();
+            innerKeyed.reset();
+            outerKeyed.reset();
+        }
+
+        private void key(final byte[] key, final int keyLength) {
+            Arrays.fill(pad, (byte) 0);
+            if (keyLength > pad.length) {
+                inner.reset();
+                inner.update(key, 0, keyLength);
+                inner.doFinal(pad, 0);
+            } else {
+                System.arraycopy(key, 0, pad, 0, keyLength);
+            }
+            xor(pad, IPAD);
+            innerKeyed.reset();
+            innerKeyed.update(pad, 0, pad.length);
+            xor(pad, (byte) (IPAD ^ OPAD));
+            outerKeyed.reset();
+            outerKeyed.update(pad, 0, pad.length);
+            Arrays.fill(pad, (byte) 0);
+        }
+
+        /**
+         * Completes the inner hash already updated with the message and writes the HMAC to {@link #block}.
+         */
+        private void mac() {
+            inner.doFinal(innerHash, 0);
+            outer.reset(outerKeyed);
+            outer.update(innerHash, 0, innerHash.length);
+            outer.doFinal(block, 0);
+        }
+
+        private static void xor(final byte[] bytes, final byte value) {
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] ^= value;
+            }
+        }
     }
 }
@@ -0,0 +1,72 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import io.github.elseifn.toruntime.CheckedExceptionToRuntime;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+import static io.github.elseifn.toruntime.CheckedExceptionToRuntime.toRuntime;
+
+/**
+ * One SHA-256 digest and hash buffer per thread, as the provider look up in {@link MessageDigest#getInstance} is
+ * expensive compared to hashing 16-32 bytes of entropy.
+ */
+final class ThreadLocalSha256 {
+
+    private static final ThreadLocal<ThreadLocalSha256> INSTANCE = new ThreadLocal<ThreadLocalSha256>() {
+        @Override
+        protected ThreadLocalSha256 initialValue() {
+            return new ThreadLocalSha256();
+        }
+    };
+
+    private final MessageDigest digest = toRuntime(new CheckedExceptionToRuntime.Func<MessageDigest>() {
+        @Override
+        public MessageDigest run() throws Exception {
+            return MessageDigest.getInstance("SHA-256");
+        }
+    });
+
+    private final byte[] hash = new byte[32];
+
+    private ThreadLocalSha256() {
+    }
+
+    static byte firstByteOfSha256(final byte[] data) {
+        return INSTANCE.get().firstByte(data);
+    }
+
+    private byte firstByte(final byte[] data) {
+        digest.update(data);
+        try {
+            digest.digest(hash, 0, hash.length);
+        } catch (final DigestException e) {
+            throw new IllegalStateException(e);
+        }
+        final byte firstByte = hash[0];
+        Arrays.fill(hash, (byte) 0);
+        return firstByte;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+/**
+ * UTF-8 encoding of {@code char[]}s into caller supplied arrays, so that secrets need not pass through
+ * {@link String#getBytes}. Unpaired surrogates encode as '?', as they do with {@link String#getBytes}.
+ */
+final class Utf8Encoding {
+
+    private Utf8Encoding() {
+    }
+
+    static int encodedLength(final char[] chars, final int offset, final int length) {
+        int count = 0;
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            final char c = chars[i];
+            if (c < 0x80) {
+                count++;
+            } else if (c < 0x800) {
+                count += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                count += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                count++;
+            } else {
+                count += 3;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Number of bytes written, {@link #encodedLength} bytes must be available.
+     */
+    static int encode(final char[] chars, final int offset, final int length,
+                      final byte[] destination, final int destinationOffset) {
+        int out = destinationOffset;
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            final char c = chars[i];
+            if (c < 0x80) {
+                destination[out++] = (byte) c;
+            } else if (c < 0x800) {
+                destination[out++] = (byte) (0xc0 | c >> 6);
+                destination[out++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                final int codePoint = Character.toCodePoint(c, chars[++i]);
+                destination[out++] = (byte) (0xf0 | codePoint >> 18);
+                destination[out++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                destination[out++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                destination[out++] = (byte) (0x80 | codePoint & 0x3f);
+            } else if (Character.isSurrogate(c)) {
+                destination[out++] = '?';
+            } else {
+                destination[out++] = (byte) (0xe0 | c >> 12);
+                destination[out++] = (byte) (0x80 | c >> 6 & 0x3f);
+                destination[out++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+        return out - destinationOffset;
+    }
+}
@@ -0,0 +1,423 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import io.github.elseifn.lib39.wordlists.English;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exercises the generation, validation and seed calculation code paths with synthetic inputs so that the JIT compiles
+ * them before real requests arrive. Nothing secret is used, the entropy is a fixed pattern and the passphrases are
+ * constants.
+ * <p>
+ * Each path runs in batches until its time per operation has settled over the last few batches, after a minimum
+ * number of operations, which is taken as the point it has been compiled by the optimizing compiler. There is no
+ * standard API to ask the JVM directly. Warming stops when every path has settled or the time or iteration budget
+ * is used up.
+ * <p>
+ * Warm the word lists and PBKDF2 implementation used in production, the compiled code for others is not the same.
+ */
+public final class WarmUp {
+
+    public enum Path {
+        GENERATION(500, 20_000),
+        VALIDATION(500, 20_000),
+        SEED_CALCULATION(10, 500);
+
+        private final int batchSize;
+        private final int minimumOperations;
+
+        Path(final int batchSize, final int minimumOperations) {
+            this.batchSize = batchSize;
+            this.minimumOperations = minimumOperations;
+        }
+    }
+
+    public interface Listener {
+        /**
+         * Called on the warming thread when a path has settled.
+         *
+         * @param report How the path was warmed.
+         */
+        void settled(PathReport report);
+    }
+
+    private static final int BATCHES_TO_SETTLE = 3;
+    private static final double SETTLED_SPREAD = 1.1;
+    private static final int INPUTS = 16;
+    private static final String[] PASSPHRASES = {"", "warm-up", "wärm-üp"};
+
+    private final WordList[] wordLists;
+    private final PBKDF2WithHmacSHA512 hashAlgorithm;
+    private final long timeBudgetNanos;
+    private final long iterationBudget;
+    private final Listener listener;
+
+    /**
+     * Warm up with {@link English} and {@link SpongyCastlePBKDF2WithHmacSHA512}, for up to 30 seconds.
+     */
+    public WarmUp() {
+        this(new WordList[]{English.INSTANCE}, SpongyCastlePBKDF2WithHmacSHA512.INSTANCE,
+                TimeUnit.SECONDS.toNanos(30), Long.MAX_VALUE, null);
+    }
+
+    private WarmUp(final WordList[] wordLists, final PBKDF2WithHmacSHA512 hashAlgorithm, final long timeBudgetNanos,
+                   final long iterationBudget, final Listener listener) {
+        this.wordLists = wordLists;
+        this.hashAlgorithm = hashAlgorithm;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.iterationBudget = iterationBudget;
+        this.listener = listener;
+    }
+
+    /**
+     * @param wordLists The word lists to generate and validate with, in turn.
+     */
+    public WarmUp withWordLists(final WordList... wordLists) {
+        if (wordLists.length == 0)
+            throw new IllegalArgumentException("At least one word list is required");
+        return new WarmUp(wordLists.clone(), hashAlgorithm, timeBudgetNanos, iterationBudget, listener);
+    }
+
+    public WarmUp withHashAlgorithm(final PBKDF2WithHmacSHA512 hashAlgorithm) {
+        return new WarmUp(wordLists, hashAlgorithm, timeBudgetNanos, iterationBudget, listener);
+    }
+
+    /**
+     * @param budget Longest to warm up for in total. Defaults to 30 seconds.
+     */
+    public WarmUp withTimeBudget(final long budget, final TimeUnit unit) {
+        return new WarmUp(wordLists, hashAlgorithm, unit.toNanos(budget), iterationBudget, listener);
+    }
+
+    /**
+     * @param operations Most operations to run on each path. Defaults to no limit.
+     */
+    public WarmUp withIterationBudget(final long operations) {
+        return new WarmUp(wordLists, hashAlgorithm, timeBudgetNanos, operations, listener);
+    }
+
+    /**
+     * @param listener Told as each path settles, or null for none.
+     */
+    public WarmUp withListener(final Listener listener) {
+        return new WarmUp(wordLists, hashAlgorithm, timeBudgetNanos, iterationBudget, listener);
+    }
+
+    public static final class PathReport {
+        private final Path path;
+        private final long operations;
+        private final long firstBatchNanosPerOperation;
+        private final long lastBatchNanosPerOperation;
+        private final boolean settled;
+
+        private PathReport(final Path path, final long operations, final long firstBatchNanosPerOperation,
+                           final long lastBatchNanosPerOperation, final boolean settled) {
+            this.path = path;
+            this.operations = operations;
+            this.firstBatchNanosPerOperation = firstBatchNanosPerOperation;
+            this.lastBatchNanosPerOperation = lastBatchNanosPerOperation;
+            this.settled = settled;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public long getOperations() {
+            return operations;
+        }
+
+        public long getFirstBatchNanosPerOperation() {
+            return firstBatchNanosPerOperation;
+        }
+
+        public long getLastBatchNanosPerOperation() {
+            return lastBatchNanosPerOperation;
+        }
+
+        /**
+         * @return true if the time per operation settled, false if the budget ran out first.
+         */
+        public boolean isSettled() {
+            return settled;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d operations, %d ns/op first batch, %d ns/op last batch, %s", path,
+                    operations, firstBatchNanosPerOperation, lastBatchNanosPerOperation,
+                    settled ? "settled" : "not settled");
+        }
+    }
+
+    public static final class Report {
+        private final Map<Path, PathReport> paths;
+        private final long elapsedNanos;
+
+        private Report(final Map<Path, PathReport> paths, final long elapsedNanos) {
+            this.paths = Collections.unmodifiableMap(paths);
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public Map<Path, PathReport> getPaths() {
+            return paths;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return true if every path settled within the budget.
+         */
+        public boolean isSettled() {
+            for (final PathReport path : paths.values()) {
+                if (!path.isSettled())
+                    return false;
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder(String.format("Warm up took %d ms", elapsedNanos / 1_000_000));
+            for (final PathReport path : paths.values()) {
+                sb.append(System.lineSeparator()).append(path);
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Warm up on the calling thread.
+     *
+     * @return How each path was warmed.
+     */
+    public Report run() {
+        final long start = System.nanoTime();
+        final Inputs inputs = new Inputs(wordLists);
+        final Warmer[] warmers = {
+                new GenerationWarmer(inputs),
+                new ValidationWarmer(inputs),
+                new SeedCalculationWarmer(inputs, new SeedCalculator(hashAlgorithm))
+        };
+        boolean warming = true;
+        while (warming && System.nanoTime() - start < timeBudgetNanos) {
+            warming = false;
+            for (final Warmer warmer : warmers) {
+                if (warmer.isFinished())
+                    continue;
+                warmer.batch();
+                if (warmer.settled && listener != null)
+                    listener.settled(warmer.report());
+                warming |= !warmer.isFinished();
+            }
+        }
+        final Map<Path, PathReport> reports = new EnumMap<>(Path.class);
+        for (final Warmer warmer : warmers) {
+            reports.put(warmer.path, warmer.report());
+        }
+        return new Report(reports, System.nanoTime() - start);
+    }
+
+    /**
+     * Warm up on a new daemon thread.
+     *
+     * @return Completes with the report when warming has finished.
+     */
+    public Future<Report> runInBackground() {
+        final FutureTask<Report> task = new FutureTask<>(new Callable<Report>() {
+            @Override
+            public Report call() {
+                return run();
+            }
+        });
+        final Thread thread = new Thread(task, "Lib39-WarmUp");
+        thread.setDaemon(true);
+        thread.start();
+        return task;
+    }
+
+    /**
+     * Synthetic entropy, with the mnemonics for it, for each word list.
+     */
+    private static final class Inputs {
+        final WordList[] wordLists;
+        final byte[][] entropy = new byte[INPUTS][];
+        final String[][] mnemonics;
+
+        Inputs(final WordList[] wordLists) {
+            this.wordLists = wordLists;
+            for (int i = 0; i < INPUTS; i++) {
+                entropy[i] = new byte[16 + (i % 5) * 4];
+                for (int j = 0; j < entropy[i].length; j++) {
+                    entropy[i][j] = (byte) (i * 31 + j * 7);
+                }
+            }
+            mnemonics = new String[wordLists.length][INPUTS];
+            for (int w = 0; w < wordLists.length; w++) {
+                final MnemonicGenerator generator = new MnemonicGenerator(wordLists[w]);
+                for (int i = 0; i < INPUTS; i++) {
+                    final StringBuilder sb = new StringBuilder();
+                    generator.createMnemonic(entropy[i], new MnemonicGenerator.Target() {
+                        @Override
+                        public void append(final CharSequence string) {
+                            sb.append(string);
+                        }
+                    });
+                    mnemonics[w][i] = sb.toString();
+                }
+            }
+        }
+    }
+
+    private abstract class Warmer {
+        final Path path;
+        private final long[] recentNanosPerOperation = new long[BATCHES_TO_SETTLE];
+        private long operations;
+        private long batches;
+        private long firstBatchNanosPerOperation;
+        private long lastBatchNanosPerOperation;
+        boolean settled;
+        /**
+         * Consumes results so that the work cannot be optimized away.
+         */
+        int sink;
+
+        Warmer(final Path path) {
+            this.path = path;
+        }
+
+        abstract void operation(long operation) throws Exception;
+
+        final boolean isFinished() {
+            return settled || operations >= iterationBudget;
+        }
+
+        final void batch() {
+            final int batchSize = (int) Math.min(path.batchSize, iterationBudget - operations);
+            final long start = System.nanoTime();
+            try {
+                for (int i = 0; i < batchSize; i++) {
+                    operation(operations + i);
+                }
+            } catch (final Exception e) {
+                throw new IllegalStateException("Warm up input failed on " + path, e);
+            }
+            final long nanosPerOperation = (System.nanoTime() - start) / batchSize;
+            operations += batchSize;
+            if (batches == 0)
+                firstBatchNanosPerOperation = nanosPerOperation;
+            lastBatchNanosPerOperation = nanosPerOperation;
+            recentNanosPerOperation[(int) (batches++ % BATCHES_TO_SETTLE)] = nanosPerOperation;
+            settled = operations >= path.minimumOperations && batches >= BATCHES_TO_SETTLE && isSteady();
+        }
+
+        private boolean isSteady() {
+            final long[] recent = recentNanosPerOperation.clone();
+            Arrays.sort(recent);
+            return recent[recent.length - 1] <= recent[0] * SETTLED_SPREAD;
+        }
+
+        final PathReport report() {
+            return new PathReport(path, operations, firstBatchNanosPerOperation, lastBatchNanosPerOperation,
+                    settled);
+        }
+    }
+
+    private final class GenerationWarmer extends Warmer {
+        private final Inputs inputs;
+        private final MnemonicGenerator[] generators;
+        private final MnemonicGenerator.Target target = new MnemonicGenerator.Target() {
+            @Override
+            public void append(final CharSequence string) {
+                sink += string.length();
+            }
+        };
+
+        GenerationWarmer(final Inputs inputs) {
+            super(Path.GENERATION);
+            this.inputs = inputs;
+            generators = new MnemonicGenerator[inputs.wordLists.length];
+            for (int w = 0; w < generators.length; w++) {
+                generators[w] = new MnemonicGenerator(inputs.wordLists[w]);
+            }
+        }
+
+        @Override
+        void operation(final long operation) {
+            generators[(int) (operation % generators.length)]
+                    .createMnemonic(inputs.entropy[(int) (operation % INPUTS)], target);
+        }
+    }
+
+    private final class ValidationWarmer extends Warmer {
+        private final Inputs inputs;
+        private final MnemonicValidator[] validators;
+
+        ValidationWarmer(final Inputs inputs) {
+            super(Path.VALIDATION);
+            this.inputs = inputs;
+            validators = new MnemonicValidator[inputs.wordLists.length];
+            for (int w = 0; w < validators.length; w++) {
+                validators[w] = MnemonicValidator.ofWordList(inputs.wordLists[w]);
+            }
+        }
+
+        @Override
+        void operation(final long operation) throws Exception {
+            final int w = (int) (operation % validators.length);
+            validators[w].validate(inputs.mnemonics[w][(int) (operation % INPUTS)]);
+        }
+    }
+
+    private final class SeedCalculationWarmer extends Warmer {
+        private final Inputs inputs;
+        private final SeedCalculator seedCalculator;
+
+        SeedCalculationWarmer(final Inputs inputs, final SeedCalculator seedCalculator) {
+            super(Path.SEED_CALCULATION);
+            this.inputs = inputs;
+            this.seedCalculator = seedCalculator;
+        }
+
+        @Override
+        void operation(final long operation) {
+            final String mnemonic = inputs.mnemonics[(int) (operation % inputs.wordLists.length)]
+                    [(int) (operation % INPUTS)];
+            final String passphrase = PASSPHRASES[(int) (operation % PASSPHRASES.length)];
+            final byte[] seed = operation % 2 == 0
+                    ? seedCalculator.calculateSeed(mnemonic, passphrase)
+                    : seedCalculator.calculateSeed(mnemonic.toCharArray(), passphrase.toCharArray());
+            sink += seed[0];
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import io.github.elseifn.toruntime.CheckedExceptionToRuntime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+
+import static io.github.elseifn.toruntime.CheckedExceptionToRuntime.toRuntime;
+
+/**
+ * Loads word lists in the format of the BIP39 reference lists, https://github.com/bitcoin/bips/tree/master/bip-0039,
+ * one word per line, UTF-8 encoded.
+ * <p>
+ * This allows use of languages that are not bundled, without writing a {@link WordList} implementation.
+ */
+public final class WordListLoader {
+
+    private static final int WORD_COUNT = 1 << 11;
+    private static final long MAX_FILE_SIZE = 64 * 1024;
+
+    private WordListLoader() {
+    }
+
+    /**
+     * Load a word list that uses ' ' between words.
+     *
+     * @param file           The word list file.
+     * @param expectedSha256 Hex SHA-256 of the file, for example as published alongside the BIP39 reference lists.
+     * @return The packed word list.
+     * @throws IOException              If the file cannot be read.
+     * @throws InvalidWordListException If the file is larger than 64 KB, does not match the fingerprint or is not a
+     *                                  valid word list.
+     */
+    public static PackedWordList load(final Path file, final String expectedSha256) throws IOException {
+        return load(file, ' ', expectedSha256);
+    }
+
+    /**
+     * Load a word list.
+     *
+     * @param file           The word list file.
+     * @param space          The space character for this language, for example '　' for Japanese.
+     * @param expectedSha256 Hex SHA-256 of the file, for example as published alongside the BIP39 reference lists.
+     * @return The packed word list.
+     * @throws IOException              If the file cannot be read.
+     * @throws InvalidWordListException If the file is larger than 64 KB, does not match the fingerprint or is not a
+     *                                  valid word list.
+     */
+    public static PackedWordList load(final Path file, final char space, final String expectedSha256)
+            throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > MAX_FILE_SIZE)
+                throw new InvalidWordListException("Word list is " + size + " bytes, more than " + MAX_FILE_SIZE);
+            final ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            final Object event = FlightRecorderEvents.begin(FlightRecorderEvents.Type.WORD_LIST_INDEX);
+            checkFingerprint(bytes.duplicate(), expectedSha256);
+            final PackedWordList packed = pack(space, decode(bytes));
+            FlightRecorderEvents.commit(event, WORD_COUNT, file.getFileName().toString(), null, "loaded");
+            return packed;
+        }
+    }
+
+    private static void checkFingerprint(final ByteBuffer bytes, final String expectedSha256) {
+        final MessageDigest digest = toRuntime(new CheckedExceptionToRuntime.Func<MessageDigest>() {
+            @Override
+            public MessageDigest run() throws Exception {
+                return MessageDigest.getInstance("SHA-256");
+            }
+        });
+        digest.update(bytes);
+        final String actual = toHex(digest.digest());
+        if (!actual.equalsIgnoreCase(expectedSha256))
+            throw new InvalidWordListException("Word list SHA-256 " + actual + " does not match expected " + expectedSha256);
+    }
+
+    private static CharBuffer decode(final ByteBuffer bytes) {
+        if (bytes.remaining() >= 3 && bytes.get(0) == (byte) 0xef && bytes.get(1) == (byte) 0xbb
+                && bytes.get(2) == (byte) 0xbf)
+            throw new InvalidWordListException("Word list starts with a UTF-8 byte order mark");
+        final CharsetDecoder decoder = Charset.forName("UTF-8").newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        try {
+            return decoder.decode(bytes);
+        } catch (final CharacterCodingException e) {
+            throw new InvalidWordListException("Word list is not valid UTF-8");
+        }
+    }
+
+    private static PackedWordList pack(final char space, final CharBuffer chars) {
+        final String[] words = new String[WORD_COUNT];
+        final int length = chars.length();
+        int count = 0;
+        int start = 0;
+        while (start < length) {
+            int end = start;
+            while (end < length && chars.get(end) != '\n') end++;
+            final int next = end + 1;
+            if (end > start && chars.get(end - 1) == '\r') end--;
+            if (count == WORD_COUNT)
+                throw new InvalidWordListException("Word list has more than " + WORD_COUNT + " words");
+            if (end == start)
+                throw new InvalidWordListException("Empty word on line " + (count + 1));
+            for (int i = start; i < end; i++) {
+                if (Character.isWhitespace(chars.get(i)) || chars.get(i) == space)
+                    throw new InvalidWordListException("White space in word on line " + (count + 1));
+            }
+            words[count++] = chars.subSequence(start, end).toString();
+            start = next;
+        }
+        if (count != WORD_COUNT)
+            throw new InvalidWordListException("Word list has " + count + " words, expected " + WORD_COUNT);
+        final PackedWordList packed = PackedWordList.pack(space, words);
+        for (int i = 0; i < WORD_COUNT; i++) {
+            if (packed.indexOf(packed.getNormalizedWord(i)) != i)
+                throw new InvalidWordListException("Duplicate word on line " + (i + 1));
+        }
+        return packed;
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = Character.forDigit((bytes[i] >> 4) & 0xf, 16);
+            hex[i * 2 + 1] = Character.forDigit(bytes[i] & 0xf, 16);
+        }
+        return new String(hex);
+    }
+}
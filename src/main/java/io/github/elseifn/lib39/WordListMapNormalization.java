@@ -21,28 +21,30 @@
 
 package io.github.elseifn.lib39;
 
-import java.text.Normalizer;
-import java.util.HashMap;
-import java.util.Map;
-
+/**
+ * Normalizes the words of a word list from a lookup by character content, so any {@link CharSequence}, such as a
+ * {@link StringBuilder}, a {@link java.nio.CharBuffer} or a token from a split, finds its word without a call to
+ * {@link CharSequence#toString()}. Words in their original, NFKD or NFC form all map to the same normalized
+ * instance. Anything else is normalized by {@link QuickCheckNFKDNormalizer}.
+ */
 class WordListMapNormalization implements NFKDNormalizer {
-    private final Map<CharSequence, String> normalizedMap = new HashMap<>();
+    private final PackedWordList words;
+    private final String[] normalized = new String[1 << 11];
 
     WordListMapNormalization(final WordList wordList) {
+        words = PackedWordList.of(wordList);
         for (int i = 0; i < 1 << 11; i++) {
             final String word = wordList.getWord(i);
-            final String normalized = Normalizer.normalize(word, Normalizer.Form.NFKD);
-            normalizedMap.put(word, normalized);
-            normalizedMap.put(normalized, normalized);
-            normalizedMap.put(Normalizer.normalize(word, Normalizer.Form.NFC), normalized);
+            final String nfkd = words.getNormalizedWord(i);
+            normalized[i] = nfkd.equals(word) ? word : nfkd;
         }
     }
 
     @Override
     public String normalize(final CharSequence charSequence) {
-        final String normalized = normalizedMap.get(charSequence);
-        if (normalized != null)
-            return normalized;
-        return Normalizer.normalize(charSequence, Normalizer.Form.NFKD);
+        final int index = words.indexOf(charSequence);
+        if (index >= 0)
+            return normalized[index];
+        return QuickCheckNFKDNormalizer.INSTANCE.normalize(charSequence);
     }
 }
@@ -41,4 +41,8 @@ public enum Words {
     public int byteLength() {
         return bitLength / 8;
     }
+
+    public int wordCount() {
+        return (bitLength + bitLength / 32) / 11;
+    }
 }
@@ -31,7 +31,7 @@ public enum Spanish implements WordList {
 
     @Override
     public String getWord(final int index) {
-        return words[index];
+        return WordsHolder.words[index];
     }
 
     @Override
@@ -39,7 +39,8 @@ public enum Spanish implements WordList {
         return ' ';
     }
 
-    private final static String[] words = new String[]{
+    private static final class WordsHolder {
+        private final static String[] words = new String[]{
             "ábaco",
             "abdomen",
             "abeja",
@@ -2088,5 +2089,6 @@ public enum Spanish implements WordList {
             "zorro",
             "zumo",
             "zurdo"
-    };
+        };
+    }
 }
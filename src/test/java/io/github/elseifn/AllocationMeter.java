@@ -0,0 +1,86 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures bytes allocated per operation on the current thread, for asserting allocation budgets of hot paths.
+ * Relies on {@code com.sun.management.ThreadMXBean}, check {@link #isSupported()} first.
+ */
+public final class AllocationMeter {
+
+    private static final int ROUNDS = 5;
+
+    public interface Operation {
+        void run() throws Exception;
+    }
+
+    private AllocationMeter() {
+    }
+
+    public static boolean isSupported() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return bean instanceof com.sun.management.ThreadMXBean &&
+                ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported();
+    }
+
+    /**
+     * Runs the operation to warm it up, then measures it over several rounds and reports the lowest, which is the
+     * least disturbed by class loading and other one off allocations.
+     *
+     * @param warmUp     Number of operations to run before measuring.
+     * @param iterations Number of operations per measured round.
+     * @param operation  The operation.
+     * @return Bytes allocated per operation.
+     */
+    public static long bytesPerOperation(final int warmUp, final int iterations, final Operation operation)
+            throws Exception {
+        final com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        bean.setThreadAllocatedMemoryEnabled(true);
+        final long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < warmUp; i++) {
+            operation.run();
+        }
+        final long overhead = overhead(bean, threadId);
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            final long before = bean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < iterations; i++) {
+                operation.run();
+            }
+            final long allocated = bean.getThreadAllocatedBytes(threadId) - before - overhead;
+            best = Math.min(best, Math.max(0, allocated) / iterations);
+        }
+        return best;
+    }
+
+    private static long overhead(final com.sun.management.ThreadMXBean bean, final long threadId) {
+        long overhead = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            final long before = bean.getThreadAllocatedBytes(threadId);
+            overhead = Math.min(overhead, bean.getThreadAllocatedBytes(threadId) - before);
+        }
+        return overhead;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs rounds of an operation from many threads at once, for stress testing thread safety and measuring how
+ * throughput scales with threads.
+ */
+public final class ConcurrentLoad {
+
+    private static final int RUNS = 3;
+
+    public interface Round {
+        /**
+         * @param round Thread number plus the number of rounds that thread has already run, so that threads start
+         *              on different inputs.
+         */
+        void run(int round) throws Exception;
+    }
+
+    private ConcurrentLoad() {
+    }
+
+    /**
+     * Runs the rounds on threads released together, and fails with the first failure of any round.
+     *
+     * @param threads         Number of threads.
+     * @param roundsPerThread Rounds each thread runs.
+     * @param round           The operation.
+     * @return Rounds per second over all threads.
+     */
+    public static double roundsPerSecond(final int threads, final int roundsPerThread, final Round round)
+            throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch ready = new CountDownLatch(threads);
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int offset = t;
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    ready.countDown();
+                    start.await();
+                    for (int i = 0; i < roundsPerThread; i++) {
+                        round.run(offset + i);
+                    }
+                    return null;
+                }));
+            }
+            ready.await();
+            final long startNanos = System.nanoTime();
+            start.countDown();
+            for (final Future<Void> future : futures) {
+                future.get();
+            }
+            final long nanos = System.nanoTime() - startNanos;
+            return threads * (double) roundsPerThread * 1e9 / Math.max(1, nanos);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Throughput on many threads over throughput on one thread, after a warm-up on one thread. Each is the best of
+     * several runs, which is the least disturbed by other work on the host.
+     *
+     * @param threads         Number of threads for the concurrent runs.
+     * @param warmUpRounds    Rounds to run on one thread before measuring.
+     * @param roundsPerThread Rounds each thread runs, in both the single and concurrent runs.
+     * @param round           The operation.
+     * @return How many times more rounds per second the threads ran than one thread alone.
+     */
+    public static double speedUp(final int threads, final int warmUpRounds, final int roundsPerThread,
+                                 final Round round) throws Exception {
+        roundsPerSecond(1, warmUpRounds, round);
+        double single = 0;
+        double concurrent = 0;
+        for (int run = 0; run < RUNS; run++) {
+            single = Math.max(single, roundsPerSecond(1, roundsPerThread, round));
+            concurrent = Math.max(concurrent, roundsPerSecond(threads, roundsPerThread, round));
+        }
+        return concurrent / single;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn;
+
+import io.github.elseifn.lib39.HexEntropyFileConverter;
+import io.github.elseifn.lib39.MnemonicGenerator;
+import io.github.elseifn.lib39.wordlists.English;
+import io.github.elseifn.lib39.wordlists.Japanese;
+import io.github.elseifn.testjson.EnglishJson;
+import io.github.elseifn.testjson.TestVector;
+import io.github.elseifn.testjson.TestVectorJson;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class HexEntropyFileConverterTests {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void all_english_test_vectors() throws IOException {
+        final EnglishJson data = EnglishJson.load();
+        final List<String> input = new ArrayList<>();
+        final List<String> expected = new ArrayList<>();
+        for (final String[] testCase : data.english) {
+            input.add(testCase[0]);
+            expected.add(testCase[1]);
+        }
+        final HexEntropyFileConverter.Result result = convert(input, new HexEntropyFileConverter(English.INSTANCE), expected);
+        assertEquals(24, result.getLinesConverted());
+        assertTrue(result.getErrors().isEmpty());
+    }
+
+    @Test
+    public void all_japanese_test_vectors() throws IOException {
+        final TestVectorJson data = TestVectorJson.loadJapanese();
+        final List<String> input = new ArrayList<>();
+        final List<String> expected = new ArrayList<>();
+        for (final TestVector testVector : data.vectors) {
+            input.add(testVector.entropy);
+            expected.add(testVector.mnemonic);
+        }
+        final HexEntropyFileConverter.Result result = convert(input,
+                new HexEntropyFileConverter(Japanese.INSTANCE).withChunkSize(100), expected);
+        assertEquals(24, result.getLinesConverted());
+    }
+
+    @Test
+    public void word_indexes() throws IOException {
+        final List<String> expected = new ArrayList<>();
+        expected.add("0 0 0 0 0 0 0 0 0 0 0 3");
+        expected.add("2047 2047 2047 2047 2047 2047 2047 2047 2047 2047 2047 2037");
+        convert(lines("00000000000000000000000000000000", "ffffffffffffffffffffffffffffffff"),
+                new HexEntropyFileConverter(English.INSTANCE)
+                        .withOutput(HexEntropyFileConverter.Output.WORD_INDEXES), expected);
+    }
+
+    @Test
+    public void bad_lines_are_reported_and_left_empty() throws IOException {
+        final List<String> input = lines(
+                "00000000000000000000000000000000",
+                "",
+                "0000000000000000000000000000000",
+                "0000000000000000000000000000000g",
+                "000000000000000000000000000000",
+                "00000000000000000000000000000000000000000000000000000000000000000000",
+                "0000000000000000000000000000000000",
+                "FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF");
+        final List<String> expected = lines(
+                "abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon about",
+                "", "", "", "", "", "",
+                "zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo wrong");
+        final HexEntropyFileConverter.Result result = convert(input, new HexEntropyFileConverter(English.INSTANCE), expected);
+        assertEquals(2, result.getLinesConverted());
+        assertEquals("[Line 2: EMPTY_LINE, " +
+                        "Line 3: ODD_LENGTH, " +
+                        "Line 4: INVALID_HEX_CHARACTER, " +
+                        "Line 5: ENTROPY_TOO_LOW, " +
+                        "Line 6: ENTROPY_TOO_HIGH, " +
+                        "Line 7: ENTROPY_NOT_MULTIPLE_OF_32_BITS]",
+                result.getErrors().toString());
+    }
+
+    @Test
+    public void windows_line_endings_and_no_final_new_line() throws IOException {
+        final Path in = folder.newFile().toPath();
+        Files.write(in, "00000000000000000000000000000000\r\nffffffffffffffffffffffffffffffff".getBytes(StandardCharsets.US_ASCII));
+        final Path out = folder.newFile().toPath();
+        final HexEntropyFileConverter.Result result = new HexEntropyFileConverter(English.INSTANCE).convert(in, out);
+        assertEquals(2, result.getLinesConverted());
+        assertEquals(lines(
+                "abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon about",
+                "zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo wrong"),
+                Files.readAllLines(out, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void many_random_lines_across_many_chunks_and_threads() throws IOException {
+        final Random random = new Random(1234);
+        final List<String> input = new ArrayList<>();
+        final List<String> expected = new ArrayList<>();
+        final MnemonicGenerator generator = new MnemonicGenerator(English.INSTANCE);
+        for (int i = 0; i < 5000; i++) {
+            final byte[] entropy = new byte[16 + 4 * random.nextInt(5)];
+            random.nextBytes(entropy);
+            final String hex = Hex.toHex(entropy);
+            input.add(hex);
+            final StringBuilder sb = new StringBuilder();
+            generator.createMnemonic(hex, sb::append);
+            expected.add(sb.toString());
+        }
+        final HexEntropyFileConverter.Result result = convert(input,
+                new HexEntropyFileConverter(English.INSTANCE).withChunkSize(1000).withThreads(3), expected);
+        assertEquals(5000, result.getLinesConverted());
+    }
+
+    @Test
+    public void empty_file() throws IOException {
+        final HexEntropyFileConverter.Result result = convert(new ArrayList<String>(),
+                new HexEntropyFileConverter(English.INSTANCE), new ArrayList<String>());
+        assertEquals(0, result.getLinesConverted());
+    }
+
+    @Test
+    public void invalid_settings() {
+        assertThatThrownBy(() -> new HexEntropyFileConverter(English.INSTANCE).withThreads(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HexEntropyFileConverter(English.INSTANCE).withChunkSize(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private HexEntropyFileConverter.Result convert(final List<String> input,
+                                                   final HexEntropyFileConverter converter,
+                                                   final List<String> expected) throws IOException {
+        final Path in = folder.newFile().toPath();
+        Files.write(in, input, StandardCharsets.US_ASCII);
+        final Path out = folder.newFile().toPath();
+        final HexEntropyFileConverter.Result result = converter.convert(in, out);
+        assertEquals(expected, Files.readAllLines(out, StandardCharsets.UTF_8));
+        return result;
+    }
+
+    private static List<String> lines(final String... lines) {
+        final List<String> list = new ArrayList<>();
+        for (final String line : lines) list.add(line);
+        return list;
+    }
+}
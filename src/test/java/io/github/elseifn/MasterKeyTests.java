@@ -0,0 +1,178 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn;
+
+import io.github.elseifn.bip32.ExtendedPrivateKey;
+import io.github.elseifn.bip32.networks.Bitcoin;
+import io.github.elseifn.lib39.JavaxPBKDF2WithHmacSHA512;
+import io.github.elseifn.lib39.MasterKey;
+import io.github.elseifn.lib39.Mnemonic;
+import io.github.elseifn.lib39.MnemonicValidator;
+import io.github.elseifn.lib39.SeedCalculator;
+import io.github.elseifn.lib39.wordlists.English;
+import io.github.elseifn.lib39.wordlists.Spanish;
+import io.github.elseifn.testjson.EnglishJson;
+import io.github.elseifn.testjson.TestVector;
+import io.github.elseifn.testjson.TestVectorJson;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+public final class MasterKeyTests {
+
+    @Test
+    public void all_english_test_vectors() {
+        final SeedCalculator seedCalculator = new SeedCalculator();
+        final SeedCalculator javax = new SeedCalculator(JavaxPBKDF2WithHmacSHA512.INSTANCE);
+        for (final String[] testCase : EnglishJson.load().english) {
+            assertEquals(testCase[3], xprv(seedCalculator.calculateMasterKey(testCase[1], "TREZOR")));
+            assertEquals(testCase[3], xprv(javax.calculateMasterKey(testCase[1].toCharArray(),
+                    "TREZOR".toCharArray())));
+        }
+    }
+
+    @Test
+    public void all_spanish_test_vectors() throws Exception {
+        final SeedCalculator seedCalculator = new SeedCalculator();
+        final MnemonicValidator validator = MnemonicValidator.ofWordList(Spanish.INSTANCE);
+        for (final TestVector testVector : TestVectorJson.loadSpanish().vectors) {
+            assertEquals(testVector.bip32Xprv, xprv(seedCalculator.calculateMasterKey(testVector.mnemonic,
+                    testVector.passphrase)));
+            final Mnemonic mnemonic = validator.parse(testVector.mnemonic);
+            assertEquals(testVector.bip32Xprv, xprv(seedCalculator.withWordsFromWordList(Spanish.INSTANCE)
+                    .calculateMasterKey(mnemonic, testVector.passphrase.toCharArray())));
+        }
+    }
+
+    @Test
+    public void same_as_from_seed() {
+        final SeedCalculator seedCalculator = new SeedCalculator();
+        for (final TestVector testVector : TestVectorJson.loadSpanish().vectors) {
+            final byte[] seed = seedCalculator.calculateSeed(testVector.mnemonic, testVector.passphrase);
+            assertEquals(ExtendedPrivateKey.fromSeed(seed, Bitcoin.MAIN_NET).extendedBase58(),
+                    xprv(seedCalculator.calculateMasterKey(testVector.mnemonic, testVector.passphrase)));
+        }
+    }
+
+    @Test
+    public void batch() {
+        final String[][] testCases = EnglishJson.load().english;
+        final char[][] mnemonics = new char[testCases.length][];
+        for (int i = 0; i < testCases.length; i++) {
+            mnemonics[i] = testCases[i][1].toCharArray();
+        }
+        final byte[] keys = new byte[mnemonics.length * MasterKey.LENGTH + 2];
+        Arrays.fill(keys, (byte) 0x5a);
+        new SeedCalculator().calculateMasterKeys(mnemonics, "TREZOR".toCharArray(), keys, 1);
+        assertEquals(0x5a, keys[0]);
+        assertEquals(0x5a, keys[keys.length - 1]);
+        for (int i = 0; i < testCases.length; i++) {
+            final int offset = 1 + i * MasterKey.LENGTH;
+            assertEquals(testCases[i][3], xprv(Arrays.copyOfRange(keys, offset, offset + 32),
+                    Arrays.copyOfRange(keys, offset + 32, offset + MasterKey.LENGTH)));
+        }
+    }
+
+    @Test
+    public void batch_must_fit() {
+        final char[][] mnemonics = {EnglishJson.load().english[0][1].toCharArray()};
+        final SeedCalculator seedCalculator = new SeedCalculator();
+        assertThatThrownBy(() -> seedCalculator.calculateMasterKeys(mnemonics, new char[0],
+                new byte[MasterKey.LENGTH], 1))
+                .isInstanceOf(IndexOutOfBoundsException.class)
+                .hasMessage("1 master keys do not fit at offset 1 of an array of length 64");
+        assertThatThrownBy(() -> seedCalculator.calculateMasterKeys(mnemonics, new char[0],
+                new byte[MasterKey.LENGTH], -1))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void word_list_lookup_matches() throws Exception {
+        final String mnemonic = EnglishJson.load().english[5][1];
+        final MasterKey expected = new SeedCalculator().calculateMasterKey(mnemonic, "TREZOR");
+        final MasterKey actual = new SeedCalculator().withWordsFromWordList(English.INSTANCE)
+                .calculateMasterKey(MnemonicValidator.ofWordList(English.INSTANCE).parse(mnemonic),
+                        "TREZOR".toCharArray());
+        assertEquals(xprv(expected), xprv(actual));
+    }
+
+    @Test
+    public void wipe() {
+        final MasterKey key = new SeedCalculator().calculateMasterKey(EnglishJson.load().english[0][1], "TREZOR");
+        assertEquals("BIP32 master key", key.toString());
+        key.wipe();
+        assertThat(key.isWiped()).isTrue();
+        assertEquals("BIP32 master key (wiped)", key.toString());
+        assertThatThrownBy(key::getPrivateKey).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(key::getChainCode).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static String xprv(final MasterKey key) {
+        return xprv(key.getPrivateKey(), key.getChainCode());
+    }
+
+    /**
+     * Serializes a master key as BIP32 does for main net, depth 0 with no parent fingerprint or child number.
+     */
+    private static String xprv(final byte[] privateKey, final byte[] chainCode) {
+        final byte[] serialized = new byte[82];
+        serialized[0] = 0x04;
+        serialized[1] = (byte) 0x88;
+        serialized[2] = (byte) 0xad;
+        serialized[3] = (byte) 0xe4;
+        System.arraycopy(chainCode, 0, serialized, 13, 32);
+        System.arraycopy(privateKey, 0, serialized, 46, 32);
+        final byte[] checksum = sha256(sha256(Arrays.copyOf(serialized, 78)));
+        System.arraycopy(checksum, 0, serialized, 78, 4);
+        return base58(serialized);
+    }
+
+    private static byte[] sha256(final byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String base58(final byte[] bytes) {
+        final String alphabet = "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz";
+        final StringBuilder sb = new StringBuilder();
+        BigInteger value = new BigInteger(1, bytes);
+        final BigInteger base = BigInteger.valueOf(58);
+        while (value.signum() > 0) {
+            final BigInteger[] divideAndRemainder = value.divideAndRemainder(base);
+            sb.append(alphabet.charAt(divideAndRemainder[1].intValue()));
+            value = divideAndRemainder[0];
+        }
+        for (int i = 0; i < bytes.length && bytes[i] == 0; i++) {
+            sb.append('1');
+        }
+        return sb.reverse().toString();
+    }
+}
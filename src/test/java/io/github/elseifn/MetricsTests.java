@@ -0,0 +1,128 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn;
+
+import io.github.elseifn.lib39.LatencyHistogram;
+import io.github.elseifn.lib39.Metrics;
+import io.github.elseifn.lib39.MnemonicGenerator;
+import io.github.elseifn.lib39.MnemonicValidator;
+import io.github.elseifn.lib39.SeedCalculator;
+import io.github.elseifn.lib39.Validation.InvalidChecksumException;
+import io.github.elseifn.lib39.Validation.InvalidWordCountException;
+import io.github.elseifn.lib39.Validation.UnexpectedWhiteSpaceException;
+import io.github.elseifn.lib39.Validation.WordNotFoundException;
+import io.github.elseifn.lib39.wordlists.English;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class MetricsTests {
+
+    private static final String VALID = "legal winner thank year wave sausage worth useful legal winner thank yellow";
+
+    @Test
+    public void generation_is_counted_and_timed() {
+        final Metrics metrics = new Metrics();
+        final MnemonicGenerator generator = new MnemonicGenerator(English.INSTANCE).withMetrics(metrics);
+        final StringBuilder sb = new StringBuilder();
+        generator.createMnemonic(new byte[16], sb::append);
+        generator.createMnemonic("7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f", sb::append);
+        assertEquals(2, metrics.getCount(Metrics.Counter.MNEMONICS_GENERATED));
+        assertEquals(2, metrics.getLatency(Metrics.Timer.GENERATION).getCount());
+    }
+
+    @Test
+    public void validation_outcomes_are_counted_by_type() throws Exception {
+        final Metrics metrics = new Metrics();
+        final MnemonicValidator validator = MnemonicValidator.ofWordList(English.INSTANCE).withMetrics(metrics);
+        validator.validate(VALID);
+        validator.validate(split(VALID));
+        assertThatThrownBy(() -> validator.validate(VALID.replace("yellow", "wave")))
+                .isInstanceOf(InvalidChecksumException.class);
+        assertThatThrownBy(() -> validator.validate("legal winner thank year"))
+                .isInstanceOf(InvalidWordCountException.class);
+        assertThatThrownBy(() -> validator.validate(VALID.replace("legal", "legl")))
+                .isInstanceOf(WordNotFoundException.class);
+        assertThatThrownBy(() -> validator.validate(VALID.replace(" ", "  ")))
+                .isInstanceOf(UnexpectedWhiteSpaceException.class);
+        assertEquals(2, metrics.getCount(Metrics.Counter.MNEMONICS_VALID));
+        assertEquals(1, metrics.getCount(Metrics.Counter.INVALID_CHECKSUM));
+        assertEquals(1, metrics.getCount(Metrics.Counter.INVALID_WORD_COUNT));
+        assertEquals(1, metrics.getCount(Metrics.Counter.WORD_NOT_FOUND));
+        assertEquals(1, metrics.getCount(Metrics.Counter.UNEXPECTED_WHITE_SPACE));
+        assertEquals(6, metrics.getLatency(Metrics.Timer.VALIDATION).getCount());
+    }
+
+    @Test
+    public void seed_calculation_splits_normalization_and_pbkdf2() {
+        final Metrics metrics = new Metrics();
+        final SeedCalculator seedCalculator = new SeedCalculator().withMetrics(metrics);
+        final byte[] seed = seedCalculator.calculateSeed(VALID, "TREZOR");
+        seedCalculator.calculateSeed(VALID.toCharArray(), "TREZOR".toCharArray());
+        seedCalculator.withWordsFromWordList(English.INSTANCE).calculateSeed(split(VALID), "TREZOR");
+        assertEquals(Hex.toHex(new SeedCalculator().calculateSeed(VALID, "TREZOR")), Hex.toHex(seed));
+        assertEquals(3, metrics.getCount(Metrics.Counter.SEEDS_CALCULATED));
+        final LatencyHistogram pbkdf2 = metrics.getLatency(Metrics.Timer.PBKDF2);
+        final LatencyHistogram normalization = metrics.getLatency(Metrics.Timer.SEED_NORMALIZATION);
+        assertEquals(3, pbkdf2.getCount());
+        assertEquals(3, normalization.getCount());
+        assertTrue(pbkdf2.getMean() > normalization.getMean());
+    }
+
+    @Test
+    public void without_metrics_nothing_is_recorded() throws Exception {
+        final Metrics metrics = new Metrics();
+        new SeedCalculator().withMetrics(metrics).withMetrics(null).calculateSeed(VALID, "");
+        MnemonicValidator.ofWordList(English.INSTANCE).withMetrics(metrics).withMetrics(null).validate(VALID);
+        assertEquals(0, metrics.getCount(Metrics.Counter.SEEDS_CALCULATED));
+        assertEquals(0, metrics.getCount(Metrics.Counter.MNEMONICS_VALID));
+    }
+
+    @Test
+    public void counts_from_many_threads() throws InterruptedException {
+        final Metrics metrics = new Metrics();
+        final MnemonicGenerator generator = new MnemonicGenerator(English.INSTANCE).withMetrics(metrics);
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    generator.createMnemonic(new byte[16], word -> {
+                    });
+                }
+            }));
+        }
+        for (final Thread thread : threads) thread.start();
+        for (final Thread thread : threads) thread.join();
+        assertEquals(8000, metrics.getCount(Metrics.Counter.MNEMONICS_GENERATED));
+        assertEquals(8000, metrics.getLatency(Metrics.Timer.GENERATION).getCount());
+    }
+
+    private static List<String> split(final String mnemonic) {
+        final List<String> words = new ArrayList<>();
+        for (final String word : mnemonic.split(" ")) words.add(word);
+        return words;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn;
+
+import io.github.elseifn.lib39.MnemonicSearch;
+import io.github.elseifn.lib39.MnemonicValidator;
+import io.github.elseifn.lib39.SeedCalculator;
+import io.github.elseifn.lib39.WordList;
+import io.github.elseifn.lib39.Words;
+import io.github.elseifn.lib39.wordlists.English;
+import io.github.elseifn.lib39.wordlists.Japanese;
+import org.junit.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static io.github.elseifn.Hex.toHex;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public final class MnemonicSearchTests {
+
+    @Test
+    public void first_word_constraint() throws Exception {
+        final MnemonicSearch.Result result = new MnemonicSearch(English.INSTANCE, Words.TWELVE)
+                .withWordIndexConstraint(MnemonicSearch.wordAt(0, 2047))
+                .search();
+        final String[] words = result.getMnemonic().split(" ");
+        assertEquals(12, words.length);
+        assertEquals("zoo", words[0]);
+        assertNull(result.getSeed());
+        assertEquals(0, result.getSeedsCalculated());
+        assertTrue(result.getCandidatesTested() > 0);
+        assertTrue(result.getCandidatesPerSecond() > 0);
+        MnemonicValidator.ofWordList(English.INSTANCE).validate(result.getMnemonic());
+    }
+
+    @Test
+    public void last_word_constraint_japanese() throws Exception {
+        final MnemonicSearch.Result result = new MnemonicSearch(Japanese.INSTANCE, Words.TWENTY_FOUR)
+                .withWordIndexConstraint(MnemonicSearch.wordAt(23, 0))
+                .withThreads(2)
+                .search();
+        final String[] words = result.getMnemonic().split("　");
+        assertEquals(24, words.length);
+        assertEquals(Japanese.INSTANCE.getWord(0), words[23]);
+        MnemonicValidator.ofWordList(Japanese.INSTANCE).validate(result.getMnemonic());
+    }
+
+    @Test
+    public void seed_constraint() throws Exception {
+        final SeedCalculator seedCalculator = new SeedCalculator();
+        final MnemonicSearch.Result result = new MnemonicSearch(English.INSTANCE, Words.FIFTEEN)
+                .withWordIndexConstraint(wordIndexes -> wordIndexes[0] < 1024)
+                .withSeedConstraint(seedCalculator, "TREZOR", seed -> seed[0] == 0)
+                .search();
+        assertTrue(indexOf(English.INSTANCE, result.getMnemonic().split(" ")[0]) < 1024);
+        assertEquals(0, result.getSeed()[0]);
+        assertArrayEquals(seedCalculator.calculateSeed(result.getMnemonic(), "TREZOR"), result.getSeed());
+        assertTrue(result.getSeedsCalculated() > 0);
+        assertTrue(result.getSeedsCalculated() <= result.getCandidatesTested());
+        MnemonicValidator.ofWordList(English.INSTANCE).validate(result.getMnemonic());
+    }
+
+    @Test
+    public void seed_constraint_japanese() throws Exception {
+        final SeedCalculator seedCalculator = new SeedCalculator();
+        final MnemonicSearch.Result result = new MnemonicSearch(Japanese.INSTANCE, Words.TWELVE)
+                .withSeedConstraint(seedCalculator, "", seed -> (seed[63] & 0x0f) == 0x0f)
+                .search();
+        assertEquals(toHex(seedCalculator.calculateSeed(result.getMnemonic(), "")), toHex(result.getSeed()));
+        assertEquals(0x0f, result.getSeed()[63] & 0x0f);
+    }
+
+    @Test
+    public void cancel() throws Exception {
+        final MnemonicSearch.Search search = new MnemonicSearch(English.INSTANCE, Words.TWELVE)
+                .withWordIndexConstraint(wordIndexes -> false)
+                .withThreads(2)
+                .start();
+        assertThatThrownBy(() -> search.get(50, TimeUnit.MILLISECONDS))
+                .isInstanceOf(TimeoutException.class);
+        search.cancel();
+        assertThatThrownBy(search::get)
+                .isInstanceOf(CancellationException.class);
+        assertTrue(search.isDone());
+        assertTrue(search.candidatesTested() > 0);
+        final long tested = search.candidatesTested();
+        Thread.sleep(20);
+        assertEquals(tested, search.candidatesTested());
+    }
+
+    @Test
+    public void constraint_exception_ends_search() {
+        final MnemonicSearch.Search search = new MnemonicSearch(English.INSTANCE, Words.TWELVE)
+                .withWordIndexConstraint(wordIndexes -> {
+                    throw new IllegalStateException("Constraint failed");
+                })
+                .start();
+        assertThatThrownBy(search::get)
+                .isInstanceOf(MnemonicSearch.SearchFailedException.class)
+                .hasMessage("Mnemonic search failed")
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void constraint_error_ends_search() {
+        final MnemonicSearch.Search search = new MnemonicSearch(English.INSTANCE, Words.TWELVE)
+                .withWordIndexConstraint(wordIndexes -> {
+                    throw new AssertionError("Constraint failed");
+                })
+                .start();
+        assertThatThrownBy(search::get)
+                .isInstanceOf(MnemonicSearch.SearchFailedException.class)
+                .hasCauseInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    public void word_at_checks_its_range() {
+        assertThatThrownBy(() -> MnemonicSearch.wordAt(-1, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MnemonicSearch.wordAt(24, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MnemonicSearch.wordAt(0, -1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MnemonicSearch.wordAt(0, 2048)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MnemonicSearch(English.INSTANCE, Words.TWELVE)
+                .withWordIndexConstraint(MnemonicSearch.wordAt(12, 0)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Position 12 is past the last word of a 12 word mnemonic");
+    }
+
+    @Test
+    public void at_least_one_thread() {
+        assertThatThrownBy(() -> new MnemonicSearch(English.INSTANCE, Words.TWELVE).withThreads(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static int indexOf(final WordList wordList, final String word) {
+        for (int i = 0; i < 2048; i++) {
+            if (wordList.getWord(i).equals(word)) return i;
+        }
+        return -1;
+    }
+}
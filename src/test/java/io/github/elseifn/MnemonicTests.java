@@ -0,0 +1,172 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn;
+
+import io.github.elseifn.lib39.Mnemonic;
+import io.github.elseifn.lib39.MnemonicGenerator;
+import io.github.elseifn.lib39.MnemonicValidator;
+import io.github.elseifn.lib39.SeedCalculator;
+import io.github.elseifn.lib39.Validation.InvalidChecksumException;
+import io.github.elseifn.lib39.Validation.InvalidWordCountException;
+import io.github.elseifn.lib39.Validation.UnexpectedWhiteSpaceException;
+import io.github.elseifn.lib39.Validation.WordNotFoundException;
+import io.github.elseifn.lib39.wordlists.English;
+import io.github.elseifn.lib39.wordlists.Spanish;
+import io.github.elseifn.testjson.EnglishJson;
+import io.github.elseifn.testjson.TestVector;
+import io.github.elseifn.testjson.TestVectorJson;
+import org.junit.Test;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static io.github.elseifn.Hex.toHex;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public final class MnemonicTests {
+
+    @Test
+    public void all_english_test_vectors() throws Exception {
+        final MnemonicGenerator generator = new MnemonicGenerator(English.INSTANCE);
+        final MnemonicValidator validator = MnemonicValidator.ofWordList(English.INSTANCE);
+        for (final String[] testCase : EnglishJson.load().english) {
+            final Mnemonic generated = generator.createMnemonic(fromHex(testCase[0]));
+            final Mnemonic parsed = validator.parse(testCase[1]);
+            assertEquals(testCase[1], generated.toString(English.INSTANCE));
+            assertEquals(generated, parsed);
+            assertEquals(generated.hashCode(), parsed.hashCode());
+            assertEquals(testCase[0], toHex(parsed.getEntropy()));
+            assertEquals(testCase[2], toHex(new SeedCalculator().withWordsFromWordList(English.INSTANCE)
+                    .calculateSeed(parsed, "TREZOR")));
+        }
+    }
+
+    @Test
+    public void translates_between_languages() throws Exception {
+        final MnemonicValidator spanish = MnemonicValidator.ofWordList(Spanish.INSTANCE);
+        final MnemonicValidator english = MnemonicValidator.ofWordList(English.INSTANCE);
+        for (final TestVector testVector : TestVectorJson.loadSpanish().vectors) {
+            final Mnemonic mnemonic = spanish.parse(testVector.mnemonic);
+            assertEquals(testVector.entropy, toHex(mnemonic.getEntropy()));
+            assertEquals(testVector.seed, toHex(new SeedCalculator().withWordsFromWordList(Spanish.INSTANCE)
+                    .calculateSeed(mnemonic, testVector.passphrase.toCharArray())));
+            final String inEnglish = mnemonic.toString(English.INSTANCE);
+            assertEquals(mnemonic, english.parse(inEnglish));
+            assertEquals(testVector.mnemonic, english.parse(inEnglish).toString(Spanish.INSTANCE));
+        }
+    }
+
+    @Test
+    public void word_indexes() throws Exception {
+        final Mnemonic mnemonic = MnemonicValidator.ofWordList(English.INSTANCE)
+                .parse(Arrays.asList("abandon", "abandon", "abandon", "abandon", "abandon", "abandon",
+                        "abandon", "abandon", "abandon", "abandon", "abandon", "about"));
+        assertEquals(12, mnemonic.getWordCount());
+        for (int i = 0; i < 11; i++) {
+            assertEquals(0, mnemonic.getWordIndex(i));
+        }
+        assertEquals(3, mnemonic.getWordIndex(11));
+        assertEquals(mnemonic, new MnemonicGenerator(English.INSTANCE).createMnemonic(new byte[16]));
+        assertThatThrownBy(() -> mnemonic.getWordIndex(12)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void usable_in_sets() {
+        final MnemonicGenerator generator = new MnemonicGenerator(English.INSTANCE);
+        final Set<Mnemonic> set = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            final byte[] entropy = new byte[16 + (i % 5) * 4];
+            entropy[0] = (byte) i;
+            assertThat(set.add(generator.createMnemonic(entropy))).isTrue();
+            assertThat(set.add(new MnemonicGenerator(Spanish.INSTANCE).createMnemonic(entropy))).isFalse();
+        }
+        assertEquals(100, set.size());
+        assertNotEquals(generator.createMnemonic(new byte[16]), generator.createMnemonic(new byte[20]));
+    }
+
+    @Test
+    public void hash_code_is_keyed() throws Exception {
+        final MnemonicGenerator generator = new MnemonicGenerator(English.INSTANCE);
+        for (int i = 0; i < 4; i++) {
+            final byte[] entropy = new byte[16];
+            entropy[0] = (byte) i;
+            final byte[] entropyWithChecksum = Arrays.copyOf(entropy, 17);
+            entropyWithChecksum[16] = (byte) (MessageDigest.getInstance("SHA-256").digest(entropy)[0] & 0xf0);
+            assertNotEquals(Arrays.hashCode(entropyWithChecksum), generator.createMnemonic(entropy).hashCode());
+        }
+    }
+
+    @Test
+    public void wipe() {
+        final Mnemonic mnemonic = new MnemonicGenerator(English.INSTANCE).createMnemonic(new byte[32]);
+        assertEquals("24 word mnemonic", mnemonic.toString());
+        mnemonic.wipe();
+        assertThat(mnemonic.isWiped()).isTrue();
+        assertEquals("24 word mnemonic (wiped)", mnemonic.toString());
+        assertThatThrownBy(() -> mnemonic.toString(English.INSTANCE)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(mnemonic::getEntropy).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> mnemonic.getWordIndex(0)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void wipe_while_in_a_set() {
+        final MnemonicGenerator generator = new MnemonicGenerator(English.INSTANCE);
+        final Mnemonic mnemonic = generator.createMnemonic(new byte[16]);
+        final Mnemonic other = generator.createMnemonic(new byte[20]);
+        final Set<Mnemonic> set = new HashSet<>(Arrays.asList(mnemonic, other));
+        final int hashCode = mnemonic.hashCode();
+        mnemonic.wipe();
+        other.wipe();
+        assertEquals(hashCode, mnemonic.hashCode());
+        assertThat(set.contains(mnemonic)).isTrue();
+        assertNotEquals(mnemonic, other);
+        assertNotEquals(mnemonic, generator.createMnemonic(new byte[16]));
+        assertThat(set.remove(mnemonic)).isTrue();
+        assertThat(set.remove(other)).isTrue();
+        assertThat(set).isEmpty();
+    }
+
+    @Test
+    public void parse_fails_as_validate() {
+        final MnemonicValidator validator = MnemonicValidator.ofWordList(English.INSTANCE);
+        assertThatThrownBy(() -> validator.parse("abandon abandon abandon abandon abandon abandon abandon abandon " +
+                "abandon abandon abandon abandon")).isInstanceOf(InvalidChecksumException.class);
+        assertThatThrownBy(() -> validator.parse("abandon abandon abandon abandon"))
+                .isInstanceOf(InvalidWordCountException.class);
+        assertThatThrownBy(() -> validator.parse("abandon  abandon about"))
+                .isInstanceOf(UnexpectedWhiteSpaceException.class);
+        assertThatThrownBy(() -> validator.parse("abandon abandon abandonn"))
+                .isInstanceOf(WordNotFoundException.class);
+    }
+
+    private static byte[] fromHex(final String hex) {
+        final byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+}
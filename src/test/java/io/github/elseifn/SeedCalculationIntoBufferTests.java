@@ -0,0 +1,137 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn;
+
+import io.github.elseifn.lib39.JavaxPBKDF2WithHmacSHA512;
+import io.github.elseifn.lib39.PBKDF2WithHmacSHA512;
+import io.github.elseifn.lib39.SeedCalculator;
+import io.github.elseifn.lib39.SpongyCastlePBKDF2WithHmacSHA512;
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.Arrays;
+
+import static io.github.elseifn.Hex.toHex;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+public final class SeedCalculationIntoBufferTests {
+
+    private static final String MNEMONIC =
+            "solar puppy hawk oxygen trip brief erase slot fossil mechanic filter voice";
+    private static final String PASSPHRASE = "CryptoIsCool";
+    private static final String SEED =
+            "36732d826f4fa483b5fe8373ef8d6aa3cb9c8fb30463d6c0063ee248afca2f87d11ebe6e75c2fb2736435994b868f8e9d4f4474c65ee05ac47aad7ef8a497846";
+    private static final String JAPANESE =
+            "あいこくしん　あいこくしん　あいこくしん　あいこくしん　あいこくしん　あいこくしん　あいこくしん　あいこくしん　あいこくしん　あいこくしん　あいこくしん　あおぞら";
+    private static final String JAPANESE_SEED =
+            "646f1a38134c556e948e6daef213609a62915ef568edb07ffa6046c87638b4b140fef2e0c6d7233af640c4a63de6d1a293288058c8ac1d113255d0504e63f301";
+
+    private static final PBKDF2WithHmacSHA512[] IMPLEMENTATIONS = {
+            SpongyCastlePBKDF2WithHmacSHA512.INSTANCE,
+            JavaxPBKDF2WithHmacSHA512.INSTANCE,
+            new PBKDF2WithHmacSHA512() {
+                @Override
+                public byte[] hash(final char[] chars, final byte[] salt) {
+                    return SpongyCastlePBKDF2WithHmacSHA512.INSTANCE.hash(chars, salt);
+                }
+            }
+    };
+
+    @Test
+    public void into_array_at_offset() {
+        for (final PBKDF2WithHmacSHA512 implementation : IMPLEMENTATIONS) {
+            final SeedCalculator seedCalculator = new SeedCalculator(implementation);
+            final byte[] seeds = new byte[3 * SeedCalculator.SEED_LENGTH + 2];
+            Arrays.fill(seeds, (byte) 0x5a);
+            seedCalculator.calculateSeed(MNEMONIC, PASSPHRASE, seeds, 1);
+            seedCalculator.calculateSeed(MNEMONIC.toCharArray(), PASSPHRASE.toCharArray(), seeds,
+                    1 + SeedCalculator.SEED_LENGTH);
+            seedCalculator.calculateSeed(JAPANESE, "", seeds, 1 + 2 * SeedCalculator.SEED_LENGTH);
+            assertEquals(0x5a, seeds[0]);
+            assertEquals(SEED, toHex(Arrays.copyOfRange(seeds, 1, 65)));
+            assertEquals(SEED, toHex(Arrays.copyOfRange(seeds, 65, 129)));
+            assertEquals(JAPANESE_SEED, toHex(Arrays.copyOfRange(seeds, 129, 193)));
+            assertEquals(0x5a, seeds[seeds.length - 1]);
+        }
+    }
+
+    @Test
+    public void into_direct_buffer() {
+        for (final PBKDF2WithHmacSHA512 implementation : IMPLEMENTATIONS) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(2 * SeedCalculator.SEED_LENGTH + 1);
+            buffer.put((byte) 1);
+            final SeedCalculator seedCalculator = new SeedCalculator(implementation);
+            seedCalculator.calculateSeed(MNEMONIC, PASSPHRASE, buffer);
+            seedCalculator.calculateSeed(JAPANESE.toCharArray(), new char[0], buffer);
+            assertEquals(buffer.capacity(), buffer.position());
+            assertEquals(SEED, toHex(bytes(buffer, 1)));
+            assertEquals(JAPANESE_SEED, toHex(bytes(buffer, 65)));
+        }
+    }
+
+    @Test
+    public void into_heap_buffer_slice() {
+        final ByteBuffer buffer = ByteBuffer.allocate(10 + SeedCalculator.SEED_LENGTH);
+        buffer.position(7);
+        final ByteBuffer slice = buffer.slice();
+        slice.position(3);
+        new SeedCalculator().calculateSeed(MNEMONIC, PASSPHRASE, slice);
+        assertEquals(3 + SeedCalculator.SEED_LENGTH, slice.position());
+        assertEquals(SEED, toHex(bytes(buffer, 10)));
+    }
+
+    @Test
+    public void does_not_fit() {
+        final SeedCalculator seedCalculator = new SeedCalculator();
+        assertThatThrownBy(() -> seedCalculator.calculateSeed(MNEMONIC, PASSPHRASE, new byte[100], 37))
+                .isInstanceOf(IndexOutOfBoundsException.class)
+                .hasMessage("A 64 byte seed does not fit at offset 37 of an array of length 100");
+        assertThatThrownBy(() -> seedCalculator.calculateSeed(MNEMONIC, PASSPHRASE, new byte[100], -1))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> seedCalculator.calculateSeed(MNEMONIC, PASSPHRASE, ByteBuffer.allocateDirect(63)))
+                .isInstanceOf(BufferOverflowException.class);
+        assertThatThrownBy(() -> seedCalculator.calculateSeed(MNEMONIC, PASSPHRASE,
+                ByteBuffer.allocate(64).asReadOnlyBuffer()))
+                .isInstanceOf(ReadOnlyBufferException.class);
+    }
+
+    @Test
+    public void array_returning_hash_is_unchanged() {
+        final byte[] salt = "mnemonicCryptoIsCool".getBytes();
+        final byte[] seed = new byte[SeedCalculator.SEED_LENGTH];
+        new SeedCalculator(IMPLEMENTATIONS[2]).calculateSeed(MNEMONIC, PASSPHRASE, seed, 0);
+        assertThat(seed)
+                .isEqualTo(SpongyCastlePBKDF2WithHmacSHA512.INSTANCE.hash(MNEMONIC.toCharArray(), salt))
+                .isEqualTo(JavaxPBKDF2WithHmacSHA512.INSTANCE.hash(MNEMONIC.toCharArray(), salt));
+    }
+
+    private static byte[] bytes(final ByteBuffer buffer, final int index) {
+        final byte[] bytes = new byte[SeedCalculator.SEED_LENGTH];
+        final ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(index);
+        duplicate.get(bytes);
+        return bytes;
+    }
+}
@@ -106,6 +106,8 @@ public final class SeedCalculationTests {
     private static void testSeedGeneration(TestVector testVector) {
         final byte[] seed = new SeedCalculator().calculateSeed(testVector.mnemonic, testVector.passphrase);
         assertEquals(testVector.seed, toHex(seed));
+        assertEquals(testVector.seed, toHex(new SeedCalculator()
+                .calculateSeed(testVector.mnemonic.toCharArray(), testVector.passphrase.toCharArray())));
         assertEquals(testVector.bip32Xprv, ExtendedPrivateKey.fromSeed(seed, Bitcoin.MAIN_NET).extendedBase58());
     }
 
@@ -121,6 +123,8 @@ public final class SeedCalculationTests {
     }
 
     private static String calculateSeed(String mnemonic, String passphrase, SeedCalculator seedCalculator) {
-        return toHex(seedCalculator.calculateSeed(mnemonic, passphrase));
+        final String seed = toHex(seedCalculator.calculateSeed(mnemonic, passphrase));
+        assertEquals(seed, toHex(seedCalculator.calculateSeed(mnemonic.toCharArray(), passphrase.toCharArray())));
+        return seed;
     }
 }
@@ -0,0 +1,206 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn;
+
+import io.github.elseifn.lib39.InvalidWordListException;
+import io.github.elseifn.lib39.MnemonicValidator;
+import io.github.elseifn.lib39.PackedWordList;
+import io.github.elseifn.lib39.SeedCalculator;
+import io.github.elseifn.lib39.WordList;
+import io.github.elseifn.lib39.WordListLoader;
+import io.github.elseifn.lib39.wordlists.English;
+import io.github.elseifn.lib39.wordlists.French;
+import io.github.elseifn.lib39.wordlists.Japanese;
+import io.github.elseifn.lib39.wordlists.Spanish;
+import io.github.elseifn.testjson.TestVector;
+import io.github.elseifn.testjson.TestVectorJson;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.github.elseifn.Hex.toHex;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+public final class WordListLoaderTests {
+
+    private static final String ENGLISH_TXT_SHA256 = "2f5eed53a4727b4bf8880d8f3f199efc90e58503646d9ff8eff3a2ed3b24dbda";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void english_matches_published_fingerprint() throws IOException {
+        final Path file = write(wordListFile(English.INSTANCE, "\n"));
+        assertSameWords(English.INSTANCE, WordListLoader.load(file, ENGLISH_TXT_SHA256));
+    }
+
+    @Test
+    public void fingerprint_is_case_insensitive() throws IOException {
+        final Path file = write(wordListFile(English.INSTANCE, "\n"));
+        assertSameWords(English.INSTANCE, WordListLoader.load(file, ENGLISH_TXT_SHA256.toUpperCase()));
+    }
+
+    @Test
+    public void all_bundled_lists() throws IOException {
+        for (final WordList wordList : Arrays.asList(English.INSTANCE, French.INSTANCE, Spanish.INSTANCE, Japanese.INSTANCE)) {
+            final byte[] content = wordListFile(wordList, "\n");
+            final Path file = write(content);
+            final PackedWordList loaded = WordListLoader.load(file, wordList.getSpace(), sha256(content));
+            assertSameWords(wordList, loaded);
+        }
+    }
+
+    @Test
+    public void windows_line_endings_without_final_new_line() throws IOException {
+        final byte[] content = Arrays.copyOf(wordListFile(English.INSTANCE, "\r\n"), 2048 * 2 + 11068 - 2);
+        final Path file = write(content);
+        assertSameWords(English.INSTANCE, WordListLoader.load(file, sha256(content)));
+    }
+
+    @Test
+    public void loaded_japanese_list_works_for_validation_and_seeds() throws Exception {
+        final byte[] content = wordListFile(Japanese.INSTANCE, "\n");
+        final PackedWordList japanese = WordListLoader.load(write(content), '　', sha256(content));
+        final MnemonicValidator validator = MnemonicValidator.ofWordList(japanese);
+        final SeedCalculator seedCalculator = new SeedCalculator();
+        for (final TestVector testVector : TestVectorJson.loadJapanese().vectors) {
+            validator.validate(testVector.mnemonic);
+            final List<String> words = Arrays.asList(testVector.mnemonic.split("[ 　]"));
+            assertEquals(testVector.seed, toHex(seedCalculator.withWordsFromWordList(japanese)
+                    .calculateSeed(words, testVector.passphrase)));
+        }
+    }
+
+    @Test
+    public void wrong_fingerprint() throws IOException {
+        final Path file = write(wordListFile(English.INSTANCE, "\n"));
+        assertThatThrownBy(() -> WordListLoader.load(file, "00" + ENGLISH_TXT_SHA256.substring(2)))
+                .isInstanceOf(InvalidWordListException.class)
+                .hasMessage("Word list SHA-256 " + ENGLISH_TXT_SHA256 + " does not match expected 00" +
+                        ENGLISH_TXT_SHA256.substring(2));
+    }
+
+    @Test
+    public void too_few_words() throws IOException {
+        final String content = new String(wordListFile(English.INSTANCE, "\n"), StandardCharsets.UTF_8)
+                .replace("zoo\n", "");
+        assertInvalid(content, "Word list has 2047 words, expected 2048");
+    }
+
+    @Test
+    public void too_many_words() throws IOException {
+        assertInvalid(new String(wordListFile(English.INSTANCE, "\n"), StandardCharsets.UTF_8) + "zoo\n",
+                "Word list has more than 2048 words");
+    }
+
+    @Test
+    public void duplicate_word() throws IOException {
+        final String content = new String(wordListFile(English.INSTANCE, "\n"), StandardCharsets.UTF_8)
+                .replace("\nzoo\n", "\nabandon\n");
+        assertInvalid(content, "Duplicate word on line 2048");
+    }
+
+    @Test
+    public void empty_line() throws IOException {
+        final String content = new String(wordListFile(English.INSTANCE, "\n"), StandardCharsets.UTF_8)
+                .replace("\nability\n", "\n\n");
+        assertInvalid(content, "Empty word on line 2");
+    }
+
+    @Test
+    public void space_in_word() throws IOException {
+        final String content = new String(wordListFile(English.INSTANCE, "\n"), StandardCharsets.UTF_8)
+                .replace("\nability\n", "\nabi lity\n");
+        assertInvalid(content, "White space in word on line 2");
+    }
+
+    @Test
+    public void invalid_utf8() throws IOException {
+        final byte[] content = wordListFile(English.INSTANCE, "\n");
+        content[0] = (byte) 0xff;
+        final Path file = write(content);
+        assertThatThrownBy(() -> WordListLoader.load(file, sha256(content)))
+                .isInstanceOf(InvalidWordListException.class)
+                .hasMessage("Word list is not valid UTF-8");
+    }
+
+    @Test
+    public void byte_order_mark() throws IOException {
+        assertInvalid("\ufeff" + new String(wordListFile(English.INSTANCE, "\n"), StandardCharsets.UTF_8),
+                "Word list starts with a UTF-8 byte order mark");
+    }
+
+    @Test
+    public void too_large() throws IOException {
+        final byte[] content = new byte[64 * 1024 + 1];
+        final Path file = write(content);
+        assertThatThrownBy(() -> WordListLoader.load(file, sha256(content)))
+                .isInstanceOf(InvalidWordListException.class)
+                .hasMessage("Word list is 65537 bytes, more than 65536");
+    }
+
+    private void assertInvalid(final String content, final String message) throws IOException {
+        final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        final Path file = write(bytes);
+        assertThatThrownBy(() -> WordListLoader.load(file, sha256(bytes)))
+                .isInstanceOf(InvalidWordListException.class)
+                .hasMessage(message);
+    }
+
+    private static void assertSameWords(final WordList expected, final PackedWordList actual) {
+        assertEquals(expected.getSpace(), actual.getSpace());
+        for (int i = 0; i < 2048; i++) {
+            assertEquals(expected.getWord(i), actual.getWord(i));
+        }
+    }
+
+    private static byte[] wordListFile(final WordList wordList, final String newLine) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 2048; i++) {
+            sb.append(wordList.getWord(i)).append(newLine);
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Path write(final byte[] content) throws IOException {
+        final Path file = folder.newFile().toPath();
+        Files.write(file, content);
+        return file;
+    }
+
+    private static String sha256(final byte[] content) {
+        try {
+            return toHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (final Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import io.github.elseifn.lib39.wordlists.English;
+import io.github.elseifn.lib39.wordlists.Japanese;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.github.elseifn.AllocationMeter.bytesPerOperation;
+import static io.github.elseifn.AllocationMeter.isSupported;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Allocation budgets of the hot paths, in bytes per operation after warm-up. A failure reports the actual figure,
+ * budgets are a little above what was measured so that a new allocation per word or per operation fails.
+ */
+public final class AllocationBudgetTests {
+
+    private static final String ENGLISH =
+            "legal winner thank year wave sausage worth useful legal winner thank yellow";
+    private static final String JAPANESE =
+            "そつう　れきだい　ほんやく　わかす　りくつ　ばいか　ろせん　やちん　そつう　れきだい　ほんやく　わかめ";
+
+    @Before
+    public void supported() {
+        assumeTrue(isSupported());
+    }
+
+    @Test
+    public void generation() throws Exception {
+        final MnemonicGenerator generator = new MnemonicGenerator(English.INSTANCE);
+        final byte[] entropy = new byte[16];
+        final MnemonicGenerator.Target target = new MnemonicGenerator.Target() {
+            @Override
+            public void append(final CharSequence string) {
+            }
+        };
+        assertThat(bytesPerOperation(20_000, 10_000, () -> generator.createMnemonic(entropy, target)))
+                .isLessThanOrEqualTo(192);
+    }
+
+    @Test
+    public void validation() throws Exception {
+        final MnemonicValidator validator = MnemonicValidator.ofWordList(English.INSTANCE);
+        assertThat(bytesPerOperation(20_000, 10_000, () -> validator.validate(ENGLISH)))
+                .isLessThanOrEqualTo(1_280);
+    }
+
+    @Test
+    public void validation_of_word_list() throws Exception {
+        final MnemonicValidator validator = MnemonicValidator.ofWordList(Japanese.INSTANCE);
+        final List<String> words = Arrays.asList(JAPANESE.split("　"));
+        assertThat(bytesPerOperation(20_000, 10_000, () -> validator.validate(words)))
+                .isLessThanOrEqualTo(256);
+    }
+
+    @Test
+    public void tokenizing() throws Exception {
+        final CharSequenceSplitter splitter = new CharSequenceSplitter(' ', ' ');
+        assertThat(bytesPerOperation(20_000, 10_000, () -> splitter.split(ENGLISH)))
+                .isLessThanOrEqualTo(1_024);
+    }
+
+    @Test
+    public void seed_from_word_list_indexes() throws Exception {
+        final SeedCalculatorByWordListLookUp seedCalculator =
+                new SeedCalculator().withWordsFromWordList(English.INSTANCE);
+        final List<String> words = Arrays.asList(ENGLISH.split(" "));
+        final char[] passphrase = "TREZOR".toCharArray();
+        assertThat(bytesPerOperation(200, 100, () -> seedCalculator.calculateSeed(words, passphrase)))
+                .isLessThanOrEqualTo(640);
+    }
+
+    @Test
+    public void flight_recorder_events_not_recorded() throws Exception {
+        assertThat(bytesPerOperation(20_000, 10_000,
+                () -> FlightRecorderEvents.begin(FlightRecorderEvents.Type.SEED_CALCULATION)))
+                .isLessThanOrEqualTo(0);
+    }
+
+    @Test
+    public void seed_into_buffer() throws Exception {
+        final SeedCalculator seedCalculator = new SeedCalculator();
+        final byte[] seeds = new byte[SeedCalculator.SEED_LENGTH * 4];
+        assertThat(bytesPerOperation(200, 100,
+                () -> seedCalculator.calculateSeed(JAPANESE, "TREZOR", seeds, SeedCalculator.SEED_LENGTH)))
+                .isLessThanOrEqualTo(64);
+    }
+
+    @Test
+    public void seed_into_direct_buffer() throws Exception {
+        final SeedCalculator seedCalculator = new SeedCalculator();
+        final ByteBuffer seed = ByteBuffer.allocateDirect(SeedCalculator.SEED_LENGTH);
+        assertThat(bytesPerOperation(200, 100, () -> {
+            seedCalculator.calculateSeed(JAPANESE, "TREZOR", seed);
+            seed.clear();
+        }))
+                .isLessThanOrEqualTo(64);
+    }
+
+    @Test
+    public void master_keys_into_buffer() throws Exception {
+        final SeedCalculator seedCalculator = new SeedCalculator();
+        final char[][] mnemonics = {JAPANESE.toCharArray(), JAPANESE.toCharArray()};
+        final char[] passphrase = "TREZOR".toCharArray();
+        final byte[] keys = new byte[MasterKey.LENGTH * 2];
+        assertThat(bytesPerOperation(100, 50, () -> seedCalculator.calculateMasterKeys(mnemonics, passphrase, keys, 0)))
+                .isLessThanOrEqualTo(256);
+    }
+
+    @Test
+    public void spongy_castle_hash() throws Exception {
+        final char[] password = JAPANESE.toCharArray();
+        final byte[] salt = "mnemonicTREZOR".getBytes();
+        assertThat(bytesPerOperation(200, 100, () -> SpongyCastlePBKDF2WithHmacSHA512.INSTANCE.hash(password, salt)))
+                .isLessThanOrEqualTo(96);
+    }
+
+    @Test
+    public void javax_hash_into_buffer() throws Exception {
+        final char[] password = JAPANESE.toCharArray();
+        final byte[] salt = "mnemonicTREZOR".getBytes();
+        final byte[] seed = new byte[SeedCalculator.SEED_LENGTH];
+        assertThat(bytesPerOperation(200, 100, () -> JavaxPBKDF2WithHmacSHA512.INSTANCE.hash(password,
+                password.length, salt, salt.length, seed, 0)))
+                .isLessThanOrEqualTo(0);
+    }
+}
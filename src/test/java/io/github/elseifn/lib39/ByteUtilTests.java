@@ -23,6 +23,8 @@ package io.github.elseifn.lib39;
 
 import org.junit.Test;
 
+import java.util.Random;
+
 import static io.github.elseifn.lib39.ByteUtils.next11Bits;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
@@ -76,4 +78,20 @@ public final class ByteUtilTests {
         assertEquals(0b10000000100, next11Bits(bytes, 8));
         assertEquals(0b00000001000, next11Bits(bytes, 9));
     }
+
+    @Test
+    public void take11Bits_at_every_offset_and_array_length() {
+        final Random random = new Random(11);
+        for (int length = 2; length < 40; length++) {
+            final byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+            for (int offset = 0; offset + 11 <= length * 8; offset++) {
+                int expected = 0;
+                for (int bit = offset; bit < offset + 11; bit++) {
+                    expected = expected << 1 | bytes[bit / 8] >> (7 - bit % 8) & 1;
+                }
+                assertEquals(expected, next11Bits(bytes, offset));
+            }
+        }
+    }
 }
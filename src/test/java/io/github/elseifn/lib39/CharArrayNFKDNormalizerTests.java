@@ -0,0 +1,187 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import io.github.elseifn.lib39.wordlists.English;
+import io.github.elseifn.lib39.wordlists.French;
+import io.github.elseifn.lib39.wordlists.Japanese;
+import io.github.elseifn.lib39.wordlists.Spanish;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static io.github.elseifn.TestCharSequence.preventToStringAndSubSequence;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public final class CharArrayNFKDNormalizerTests {
+
+    private static final CharArrayNFKDNormalizer normalizer = CharArrayNFKDNormalizer.INSTANCE;
+
+    @Test
+    public void max_normalized_length_does_not_overflow() {
+        final int longest = Integer.MAX_VALUE / CharArrayNFKDNormalizer.MAX_EXPANSION;
+        assertEquals(longest * CharArrayNFKDNormalizer.MAX_EXPANSION,
+                CharArrayNFKDNormalizer.maxNormalizedLength(longest));
+        assertThatThrownBy(() -> CharArrayNFKDNormalizer.maxNormalizedLength(longest + 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Input of " + (longest + 1) + " chars is too long to normalize into an array");
+    }
+
+    @Test
+    public void every_bmp_char() {
+        for (int c = 0; c < 0x10000; c++) {
+            assertNormalizesAsJdk(String.valueOf((char) c));
+            assertNormalizesAsJdk("a" + (char) c + "b");
+        }
+    }
+
+    @Test
+    public void every_bmp_char_between_combining_marks() {
+        for (int c = 0; c < 0x10000; c++) {
+            assertNormalizesAsJdk("é" + (char) c + "̴̣");
+            assertNormalizesAsJdk("̴" + (char) c + "́̈");
+        }
+    }
+
+    @Test
+    public void random_sequences_of_decomposing_chars_and_marks() {
+        final Random random = new Random(1);
+        final String pool = "aẹ̴゙゚ְ่֑́̈᷀ͅ" +
+                "éṩệǕ΅῁क़יִ가힣각" +
+                "ガｶﾞﷺ①㏿ﬁ 　";
+        final char[] chars = new char[12];
+        for (int i = 0; i < 200000; i++) {
+            final int length = random.nextInt(chars.length + 1);
+            for (int j = 0; j < length; j++) {
+                chars[j] = random.nextBoolean()
+                        ? pool.charAt(random.nextInt(pool.length()))
+                        : (char) (0x300 + random.nextInt(0x70));
+            }
+            assertNormalizesAsJdk(new String(chars, 0, length));
+        }
+    }
+
+    @Test
+    public void all_forms_of_all_words() {
+        for (final WordList wordList : Arrays.asList(English.INSTANCE, French.INSTANCE, Spanish.INSTANCE,
+                Japanese.INSTANCE)) {
+            for (int i = 0; i < 2048; i++) {
+                for (final Normalizer.Form form : Normalizer.Form.values()) {
+                    assertNormalizesAsJdk(Normalizer.normalize(wordList.getWord(i), form));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void surrogate_pairs_and_unpaired_surrogates() {
+        for (final String input : Arrays.asList("𝐀", "a𝅗𝅥́", "\ud800", "x\udc00y",
+                "😀 ｶ")) {
+            assertNormalizesAsJdk(input);
+        }
+    }
+
+    @Test
+    public void does_not_call_to_string() {
+        final String word = Japanese.INSTANCE.getWord(2);
+        final char[] destination = new char[64];
+        final int length = normalizer.normalize(preventToStringAndSubSequence(word), destination);
+        assertEquals(Normalizer.normalize(word, Normalizer.Form.NFKD), new String(destination, 0, length));
+    }
+
+    @Test
+    public void char_array_range() {
+        final char[] source = "xxｶﾞéyy".toCharArray();
+        final char[] destination = new char[20];
+        final int length = normalizer.normalize(source, 2, 3, destination);
+        assertEquals("ガé", new String(destination, 0, length));
+    }
+
+    @Test
+    public void destination_too_small_is_cleared() {
+        final char[] destination = new char[4];
+        assertEquals(-1, normalizer.normalize("abéé", destination));
+        assertArrayEquals(new char[4], destination);
+        assertEquals(-1, normalizer.normalize("ﷺ", new char[17]));
+        assertEquals(18, normalizer.normalize("ﷺ", new char[18]));
+    }
+
+    @Test
+    public void max_expansion_holds_for_every_code_point() {
+        for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+            final String input = new String(Character.toChars(codePoint));
+            final int length = Normalizer.normalize(input, Normalizer.Form.NFKD).length();
+            if (length > CharArrayNFKDNormalizer.maxNormalizedLength(input.length()))
+                throw new AssertionError(Integer.toHexString(codePoint));
+        }
+    }
+
+    @Test
+    public void resource_matches_building_the_table() throws IOException {
+        try (final java.io.InputStream in = NFKDTable.class.getResourceAsStream(NFKDTable.RESOURCE_NAME)) {
+            final ByteArrayOutputStream resource = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                resource.write(buffer, 0, read);
+            }
+            final ByteArrayOutputStream built = new ByteArrayOutputStream();
+            NFKDTable.build().writeTo(built);
+            assertArrayEquals(built.toByteArray(), resource.toByteArray());
+        }
+    }
+
+    @Test
+    public void utf8_encoding_matches_jdk() {
+        final Random random = new Random(2);
+        final char[] chars = new char[16];
+        for (int i = 0; i < 100000; i++) {
+            final int length = random.nextInt(chars.length + 1);
+            for (int j = 0; j < length; j++) {
+                final int range = random.nextInt(4);
+                chars[j] = (char) (range == 0 ? random.nextInt(0x80) : range == 1 ? random.nextInt(0x800)
+                        : range == 2 ? 0xd800 + random.nextInt(0x800) : random.nextInt(0x10000));
+            }
+            final byte[] expected = new String(chars, 0, length).getBytes(StandardCharsets.UTF_8);
+            final byte[] actual = new byte[Utf8Encoding.encodedLength(chars, 0, length) + 1];
+            assertEquals(expected.length, Utf8Encoding.encode(chars, 0, length, actual, 1));
+            assertArrayEquals(expected, Arrays.copyOfRange(actual, 1, actual.length));
+        }
+    }
+
+    private static void assertNormalizesAsJdk(final String input) {
+        final String expected = Normalizer.normalize(input, Normalizer.Form.NFKD);
+        final char[] destination = new char[CharArrayNFKDNormalizer.maxNormalizedLength(input.length())];
+        final int length = normalizer.normalize(input, destination);
+        assertEquals(input, expected, new String(destination, 0, length));
+        assertEquals(input, expected, normalizer.normalize(input));
+        final char[] source = ("<" + input + ">").toCharArray();
+        assertEquals(input, length, normalizer.normalize(source, 1, input.length(), destination));
+        assertEquals(input, expected, new String(destination, 0, length));
+    }
+}
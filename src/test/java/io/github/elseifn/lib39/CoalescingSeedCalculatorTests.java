@@ -0,0 +1,178 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.elseifn.Hex.toHex;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.fail;
+
+public final class CoalescingSeedCalculatorTests {
+
+    private static final String MNEMONIC =
+            "solar puppy hawk oxygen trip brief erase slot fossil mechanic filter voice";
+    private static final String SEED =
+            "36732d826f4fa483b5fe8373ef8d6aa3cb9c8fb30463d6c0063ee248afca2f87d11ebe6e75c2fb2736435994b868f8e9d4f4474c65ee05ac47aad7ef8a497846";
+    private static final int THREADS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    private final CountDownLatch proceed = new CountDownLatch(1);
+    private final AtomicInteger hashes = new AtomicInteger();
+    private volatile boolean failing;
+
+    private final PBKDF2WithHmacSHA512 gated = new PBKDF2WithHmacSHA512() {
+        @Override
+        public byte[] hash(final char[] chars, final byte[] salt) {
+            hashes.incrementAndGet();
+            try {
+                proceed.await();
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            if (failing)
+                throw new UnsupportedOperationException("failing");
+            return SpongyCastlePBKDF2WithHmacSHA512.INSTANCE.hash(chars, salt);
+        }
+    };
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void concurrent_identical_requests_share_one_calculation() throws Exception {
+        final CoalescingSeedCalculator calculator = new CoalescingSeedCalculator(new SeedCalculator(gated));
+        final List<Future<byte[]>> results = submit(calculator, "CryptoIsCool");
+        awaitCoalesced(calculator, THREADS - 1);
+        proceed.countDown();
+        final List<byte[]> seeds = new ArrayList<>();
+        for (final Future<byte[]> result : results) {
+            final byte[] seed = result.get();
+            assertEquals(SEED, toHex(seed));
+            for (final byte[] other : seeds) {
+                assertNotSame(other, seed);
+            }
+            seeds.add(seed);
+        }
+        assertEquals(1, hashes.get());
+        assertEquals(1, calculator.getCount(CoalescingSeedCalculator.Counter.CALCULATED));
+        assertEquals(THREADS - 1, calculator.getCount(CoalescingSeedCalculator.Counter.COALESCED));
+        assertEquals(0, calculator.inFlight());
+    }
+
+    @Test
+    public void nothing_is_kept_after_completion() {
+        proceed.countDown();
+        final CoalescingSeedCalculator calculator = new CoalescingSeedCalculator(new SeedCalculator(gated));
+        assertEquals(SEED, toHex(calculator.calculateSeed(MNEMONIC, "CryptoIsCool")));
+        assertEquals(SEED, toHex(calculator.calculateSeed(MNEMONIC.toCharArray(), "CryptoIsCool".toCharArray())));
+        assertEquals(2, hashes.get());
+        assertEquals(0, calculator.getCount(CoalescingSeedCalculator.Counter.COALESCED));
+        assertEquals(0, calculator.inFlight());
+    }
+
+    @Test
+    public void different_inputs_are_not_shared() throws Exception {
+        proceed.countDown();
+        final CoalescingSeedCalculator calculator = new CoalescingSeedCalculator(new SeedCalculator());
+        final List<Future<byte[]>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            final String passphrase = String.valueOf(i);
+            results.add(executor.submit(new Callable<byte[]>() {
+                @Override
+                public byte[] call() {
+                    return calculator.calculateSeed(MNEMONIC, passphrase);
+                }
+            }));
+        }
+        for (int i = 0; i < THREADS; i++) {
+            assertEquals(toHex(new SeedCalculator().calculateSeed(MNEMONIC, String.valueOf(i))),
+                    toHex(results.get(i).get()));
+        }
+        assertEquals(THREADS, calculator.getCount(CoalescingSeedCalculator.Counter.CALCULATED));
+    }
+
+    @Test
+    public void failure_reaches_every_caller() throws Exception {
+        failing = true;
+        final CoalescingSeedCalculator calculator = new CoalescingSeedCalculator(new SeedCalculator(gated));
+        final List<Future<byte[]>> results = submit(calculator, "");
+        awaitCoalesced(calculator, THREADS - 1);
+        proceed.countDown();
+        int leaders = 0;
+        for (final Future<byte[]> result : results) {
+            try {
+                result.get();
+                fail();
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof UnsupportedOperationException) {
+                    leaders++;
+                } else {
+                    assertThat(e.getCause()).isInstanceOf(IllegalStateException.class)
+                            .hasCauseInstanceOf(UnsupportedOperationException.class);
+                }
+            }
+        }
+        assertEquals(1, leaders);
+        assertEquals(0, calculator.inFlight());
+        failing = false;
+        assertEquals(SEED, toHex(calculator.calculateSeed(MNEMONIC, "CryptoIsCool")));
+    }
+
+    private List<Future<byte[]>> submit(final CoalescingSeedCalculator calculator, final String passphrase) {
+        final List<Future<byte[]>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(new Callable<byte[]>() {
+                @Override
+                public byte[] call() {
+                    return calculator.calculateSeed(MNEMONIC.toCharArray(), passphrase.toCharArray());
+                }
+            }));
+        }
+        return results;
+    }
+
+    private static void awaitCoalesced(final CoalescingSeedCalculator calculator, final int count)
+            throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (calculator.getCount(CoalescingSeedCalculator.Counter.COALESCED) < count) {
+            if (System.nanoTime() > deadline)
+                fail("Requests were not coalesced");
+            Thread.sleep(1);
+        }
+    }
+}
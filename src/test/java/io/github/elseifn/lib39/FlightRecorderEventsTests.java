@@ -0,0 +1,173 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import io.github.elseifn.lib39.Validation.InvalidChecksumException;
+import io.github.elseifn.lib39.wordlists.English;
+import io.github.elseifn.lib39.wordlists.Japanese;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Uses the JFR API reflectively so that these tests compile on runtimes without it, where they are skipped.
+ */
+public final class FlightRecorderEventsTests {
+
+    private static final String VALID = "legal winner thank year wave sausage worth useful legal winner thank yellow";
+    private static final String PASSPHRASE = "TREZOR";
+
+    @Before
+    public void jfrAvailable() {
+        boolean available;
+        try {
+            Class.forName("jdk.jfr.Recording");
+            available = true;
+        } catch (final ClassNotFoundException e) {
+            available = false;
+        }
+        assumeTrue(available);
+    }
+
+    @Test
+    public void no_event_when_not_recording() {
+        for (final FlightRecorderEvents.Type type : FlightRecorderEvents.Type.values())
+            assertNull(FlightRecorderEvents.begin(type));
+    }
+
+    @Test
+    public void seed_calculation_events() throws Exception {
+        final List<Map<String, Object>> events = record("io.github.elseifn.lib39.SeedCalculation", () -> {
+            new SeedCalculator().calculateSeed(VALID, PASSPHRASE);
+            new SeedCalculator(JavaxPBKDF2WithHmacSHA512.INSTANCE).withWordsFromWordList(English.INSTANCE)
+                    .calculateSeed(Arrays.asList(VALID.split(" ")), PASSPHRASE);
+        });
+        assertEquals(2, events.size());
+        assertEquals(12, events.get(0).get("wordCount"));
+        assertNull(events.get(0).get("language"));
+        assertEquals("SpongyCastlePBKDF2WithHmacSHA512", events.get(0).get("pbkdf2"));
+        assertEquals("success", events.get(0).get("outcome"));
+        assertEquals(12, events.get(1).get("wordCount"));
+        assertEquals("English", events.get(1).get("language"));
+        assertEquals("JavaxPBKDF2WithHmacSHA512", events.get(1).get("pbkdf2"));
+        assertNoSecrets(events);
+    }
+
+    @Test
+    public void validation_events() throws Exception {
+        final MnemonicValidator validator = MnemonicValidator.ofWordList(English.INSTANCE);
+        final List<Map<String, Object>> events = record("io.github.elseifn.lib39.MnemonicValidation", () -> {
+            validator.validate(VALID);
+            assertThatThrownBy(() -> validator.validate(VALID.replace("yellow", "wave")))
+                    .isInstanceOf(InvalidChecksumException.class);
+        });
+        assertEquals(2, events.size());
+        assertEquals(12, events.get(0).get("wordCount"));
+        assertEquals("English", events.get(0).get("language"));
+        assertEquals("success", events.get(0).get("outcome"));
+        assertEquals("INVALID_CHECKSUM", events.get(1).get("outcome"));
+        assertNoSecrets(events);
+    }
+
+    @Test
+    public void word_list_index_events() throws Exception {
+        final List<Map<String, Object>> events = record("io.github.elseifn.lib39.WordListIndex", () -> {
+            PackedWordList.index(Japanese.INSTANCE);
+            PackedWordList.of(new WordList() {
+                @Override
+                public String getWord(final int wordIndex) {
+                    return English.INSTANCE.getWord(wordIndex);
+                }
+
+                @Override
+                public char getSpace() {
+                    return ' ';
+                }
+            });
+        });
+        assertEquals(2, events.size());
+        assertEquals("Japanese", events.get(0).get("language"));
+        assertEquals("resource", events.get(0).get("outcome"));
+        assertEquals(2048, events.get(0).get("wordCount"));
+        assertEquals("packed", events.get(1).get("outcome"));
+    }
+
+    private static void assertNoSecrets(final List<Map<String, Object>> events) {
+        for (final Map<String, Object> event : events) {
+            for (final Object value : event.values()) {
+                if (value instanceof String) {
+                    assertFalse(((String) value).contains(PASSPHRASE));
+                    assertFalse(((String) value).contains("legal"));
+                }
+            }
+        }
+    }
+
+    private interface Action {
+        void run() throws Exception;
+    }
+
+    private static List<Map<String, Object>> record(final String eventName, final Action action) throws Exception {
+        final Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+        final Object recording = recordingClass.getConstructor().newInstance();
+        final Path file = Files.createTempFile("lib39", ".jfr");
+        try {
+            recordingClass.getMethod("enable", String.class).invoke(recording, eventName);
+            recordingClass.getMethod("start").invoke(recording);
+            Thread.sleep(2 * FlightRecorderEvents.INITIALIZED_CHECK_INTERVAL_MILLIS);
+            action.run();
+            recordingClass.getMethod("stop").invoke(recording);
+            recordingClass.getMethod("dump", Path.class).invoke(recording, file);
+            final List<?> recorded = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile")
+                    .getMethod("readAllEvents", Path.class).invoke(null, file);
+            final Class<?> recordedEventClass = Class.forName("jdk.jfr.consumer.RecordedEvent");
+            final Class<?> eventTypeClass = Class.forName("jdk.jfr.EventType");
+            final List<Map<String, Object>> events = new ArrayList<>();
+            for (final Object event : recorded) {
+                final Object type = recordedEventClass.getMethod("getEventType").invoke(event);
+                if (!eventName.equals(eventTypeClass.getMethod("getName").invoke(type)))
+                    continue;
+                final Map<String, Object> fields = new HashMap<>();
+                for (final String field : Arrays.asList("wordCount", "language", "pbkdf2", "outcome")) {
+                    fields.put(field, recordedEventClass.getMethod("getValue", String.class).invoke(event, field));
+                }
+                events.add(fields);
+            }
+            return events;
+        } finally {
+            recordingClass.getMethod("close").invoke(recording);
+            Files.delete(file);
+        }
+    }
+}
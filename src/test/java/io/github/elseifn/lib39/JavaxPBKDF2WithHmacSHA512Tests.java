@@ -0,0 +1,100 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import io.github.elseifn.ConcurrentLoad;
+import io.github.elseifn.lib39.testjson.EnglishJson;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static io.github.elseifn.ConcurrentLoad.roundsPerSecond;
+import static io.github.elseifn.ConcurrentLoad.speedUp;
+import static io.github.elseifn.Hex.toHex;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+public final class JavaxPBKDF2WithHmacSHA512Tests {
+
+    private static final int THREADS = 32;
+
+    @Test
+    public void digest_loop_same_as_secret_key_factory() {
+        final Random random = new Random(4321);
+        for (int i = 0; i < 40; i++) {
+            final char[] password = new char[i == 0 ? 0 : random.nextInt(i < 20 ? 40 : 300)];
+            for (int j = 0; j < password.length; j++) {
+                password[j] = (char) (random.nextBoolean() ? 'a' + random.nextInt(26) : 0x3040 + random.nextInt(96));
+            }
+            final byte[] salt = new byte[8 + random.nextInt(100)];
+            random.nextBytes(salt);
+            final byte[] out = new byte[SeedCalculator.SEED_LENGTH + 2];
+            JavaxPBKDF2WithHmacSHA512.INSTANCE.hash(password, password.length, salt, salt.length, out, 1);
+            assertEquals(toHex(SpongyCastlePBKDF2WithHmacSHA512.INSTANCE.hash(password, salt)),
+                    toHex(Arrays.copyOfRange(out, 1, 1 + SeedCalculator.SEED_LENGTH)));
+            if (password.length > 0)
+                assertEquals(toHex(JavaxPBKDF2WithHmacSHA512.INSTANCE.hash(password, salt)),
+                        toHex(Arrays.copyOfRange(out, 1, 1 + SeedCalculator.SEED_LENGTH)));
+        }
+    }
+
+    @Test
+    public void only_the_given_lengths_are_used() {
+        final char[] password = "abandon about".toCharArray();
+        final byte[] salt = "mnemonicTREZOR".getBytes();
+        final char[] longerPassword = Arrays.copyOf(password, password.length + 5);
+        final byte[] longerSalt = Arrays.copyOf(salt, salt.length + 5);
+        final byte[] out = new byte[SeedCalculator.SEED_LENGTH];
+        JavaxPBKDF2WithHmacSHA512.INSTANCE.hash(longerPassword, password.length, longerSalt, salt.length, out, 0);
+        assertEquals(toHex(JavaxPBKDF2WithHmacSHA512.INSTANCE.hash(password, salt)), toHex(out));
+    }
+
+    @Test
+    public void correct_on_many_threads() throws Exception {
+        final String[][] vectors = EnglishJson.load().english;
+        final SeedCalculator seedCalculator = new SeedCalculator(JavaxPBKDF2WithHmacSHA512.INSTANCE);
+        final ConcurrentLoad.Round round = r -> {
+            final String[] testCase = vectors[r % vectors.length];
+            if (r % 2 == 0) {
+                assertEquals(testCase[2], toHex(seedCalculator.calculateSeed(testCase[1], "TREZOR")));
+            } else {
+                final byte[] salt = "mnemonicTREZOR".getBytes("UTF-8");
+                assertEquals(testCase[2],
+                        toHex(JavaxPBKDF2WithHmacSHA512.INSTANCE.hash(testCase[1].toCharArray(), salt)));
+            }
+        };
+        roundsPerSecond(THREADS, 8, round);
+    }
+
+    @Test
+    public void scales_to_many_threads() throws Exception {
+        assumeTrue(Runtime.getRuntime().availableProcessors() >= 4);
+        final char[] password = "abandon about".toCharArray();
+        final byte[] salt = "mnemonicTREZOR".getBytes();
+        final ConcurrentLoad.Round round = r -> {
+            final byte[] out = new byte[SeedCalculator.SEED_LENGTH];
+            JavaxPBKDF2WithHmacSHA512.INSTANCE.hash(password, password.length, salt, salt.length, out, 0);
+        };
+        assertThat(speedUp(THREADS, 300, 16, round)).isGreaterThan(1.5);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class LatencyHistogramTests {
+
+    @Test
+    public void every_value_is_within_its_bucket() {
+        for (long value = 0; value < 100000; value++) {
+            assertWithinBucket(value);
+        }
+        for (int shift = 0; shift < 63; shift++) {
+            assertWithinBucket(1L << shift);
+            assertWithinBucket((1L << shift) - 1);
+            assertWithinBucket((1L << shift) + 1);
+        }
+        assertWithinBucket(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void buckets_are_within_12_5_percent() {
+        for (int bucket = 8; bucket <= LatencyHistogram.bucket(Long.MAX_VALUE); bucket++) {
+            final long upper = LatencyHistogram.bucketUpperBound(bucket);
+            final long lower = LatencyHistogram.bucketUpperBound(bucket - 1) + 1;
+            assertTrue(upper - lower < lower / 8);
+        }
+    }
+
+    @Test
+    public void percentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500500.0, histogram.getMean(), 0.001);
+        assertEquals(1000000, histogram.getMax());
+        assertWithinPercent(500000, histogram.getValueAtPercentile(50));
+        assertWithinPercent(990000, histogram.getValueAtPercentile(99));
+        assertEquals(1000000, histogram.getValueAtPercentile(100));
+        assertWithinPercent(1000, histogram.getValueAtPercentile(0));
+    }
+
+    @Test
+    public void negative_values_record_as_zero() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertEquals(0, histogram.getValueAtPercentile(100));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void percentile_out_of_range() {
+        new LatencyHistogram().getValueAtPercentile(101);
+    }
+
+    @Test
+    public void striped_counter_sums() {
+        final StripedCounter counter = new StripedCounter();
+        counter.increment();
+        counter.add(41);
+        assertEquals(42, counter.sum());
+    }
+
+    private static void assertWithinBucket(final long value) {
+        final int bucket = LatencyHistogram.bucket(value);
+        assertTrue(value + " <= upper", value <= LatencyHistogram.bucketUpperBound(bucket));
+        if (bucket > 0)
+            assertTrue(value + " > previous upper", value > LatencyHistogram.bucketUpperBound(bucket - 1));
+    }
+
+    private static void assertWithinPercent(final long expected, final long actual) {
+        assertTrue(expected + " ~ " + actual, Math.abs(actual - expected) <= expected * 0.125);
+    }
+}
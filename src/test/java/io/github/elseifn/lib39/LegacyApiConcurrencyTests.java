@@ -0,0 +1,67 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import io.github.elseifn.ConcurrentLoad;
+import io.github.elseifn.lib39.testjson.EnglishJson;
+import io.github.elseifn.lib39.wordlists.English;
+import org.junit.Test;
+
+import static io.github.elseifn.ConcurrentLoad.roundsPerSecond;
+import static io.github.elseifn.ConcurrentLoad.speedUp;
+import static io.github.elseifn.Hex.toHex;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+public final class LegacyApiConcurrencyTests {
+
+    private static final int THREADS = 16;
+
+    @Test
+    public void mnemonic_generation_from_many_threads() throws Exception {
+        final String[][] vectors = EnglishJson.load().english;
+        roundsPerSecond(THREADS, 200, round -> {
+            final String[] testCase = vectors[round % vectors.length];
+            final StringBuilder sb = new StringBuilder();
+            MnemonicGeneration.createMnemonic(testCase[0], English.INSTANCE, sb::append);
+            assertEquals(testCase[1], sb.toString());
+        });
+    }
+
+    @Test
+    public void seed_generation_from_many_threads() throws Exception {
+        final String[][] vectors = EnglishJson.load().english;
+        roundsPerSecond(THREADS, 6, round -> {
+            final String[] testCase = vectors[round % vectors.length];
+            assertEquals(testCase[2], toHex(Bip39.getSeed(testCase[1], "TREZOR")));
+        });
+    }
+
+    @Test
+    public void seed_generation_scales_with_threads() throws Exception {
+        assumeTrue(Runtime.getRuntime().availableProcessors() >= 2);
+        final String[][] vectors = EnglishJson.load().english;
+        final ConcurrentLoad.Round round = r -> Bip39.getSeed(vectors[r % vectors.length][1], "TREZOR");
+        assertThat(speedUp(THREADS, 300, 16, round)).isGreaterThan(1.2);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+public final class LoadGeneratorTests {
+
+    @Test
+    public void each_operation_reports_throughput_and_latency() throws InterruptedException {
+        for (final LoadGenerator.Operation operation : LoadGenerator.Operation.values()) {
+            final LoadGenerator.Result result = new LoadGenerator()
+                    .withOperation(operation)
+                    .withLanguage(LoadGenerator.Language.JAPANESE)
+                    .withWordCount(24)
+                    .withThreads(2)
+                    .withDuration(300, 50)
+                    .run();
+            assertThat(result.getOperations()).isPositive();
+            assertEquals(result.getOperations(), result.getLatency().getCount());
+            assertThat(result.getOperationsPerSecond()).isPositive();
+            assertThat(result.getLatency().getValueAtPercentile(99.9))
+                    .isGreaterThanOrEqualTo(result.getLatency().getValueAtPercentile(50));
+        }
+    }
+
+    @Test
+    public void parses_options_and_reports() throws InterruptedException {
+        final LoadGenerator loadGenerator = LoadGenerator.parse(new String[]{
+                "--operation", "validate", "--language", "spanish", "--words", "15", "--pbkdf2", "javax",
+                "--threads", "1", "--duration", "0.2", "--warmup", "0"});
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        loadGenerator.report(loadGenerator.run(), new PrintStream(bytes, true));
+        assertThat(bytes.toString())
+                .startsWith("operation=VALIDATE language=SPANISH words=15 pbkdf2=JAVAX threads=1 duration=200ms")
+                .contains("ops/sec", "p50", "p99 ", "p99.9", "max");
+    }
+
+    @Test
+    public void bad_options() {
+        assertThatThrownBy(() -> LoadGenerator.parse(new String[]{"--words", "13"}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadGenerator.parse(new String[]{"--language", "klingon"}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadGenerator.parse(new String[]{"--threads"}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadGenerator.parse(new String[]{"--fast", "yes"}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
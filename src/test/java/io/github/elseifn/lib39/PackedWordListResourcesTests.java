@@ -0,0 +1,92 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public final class PackedWordListResourcesTests {
+
+    @Test
+    public void all_bundled_lists_have_resources() {
+        for (final WordList wordList : PackedWordListResources.BUNDLED) {
+            assertNotNull(wordList.getClass().getSimpleName(), PackedWordListResources.load(wordList));
+        }
+    }
+
+    @Test
+    public void resources_match_packing_the_source_lists() throws IOException {
+        for (final WordList wordList : PackedWordListResources.BUNDLED) {
+            final PackedWordList loaded = PackedWordListResources.load(wordList);
+            assertArrayEquals(wordList.getClass().getSimpleName(),
+                    bytes(PackedWordList.pack(wordList)), bytes(loaded));
+        }
+    }
+
+    @Test
+    public void write_read_round_trip() throws IOException {
+        for (final WordList wordList : PackedWordListResources.BUNDLED) {
+            final byte[] bytes = bytes(PackedWordList.pack(wordList));
+            assertArrayEquals(bytes, bytes(PackedWordList.read(bytes)));
+        }
+    }
+
+    @Test
+    public void read_rejects_other_formats() {
+        assertNull(PackedWordList.read(new byte[0]));
+        assertNull(PackedWordList.read(new byte[16]));
+    }
+
+    @Test
+    public void not_loaded_for_lists_that_are_not_bundled() {
+        final PackedWordList packed = PackedWordListResources.load(PackedWordListResources.BUNDLED[0]);
+        assertNull(PackedWordListResources.load(new WordList() {
+            @Override
+            public String getWord(final int index) {
+                return packed.getWord(index);
+            }
+
+            @Override
+            public char getSpace() {
+                return packed.getSpace();
+            }
+        }));
+    }
+
+    @Test
+    public void of_a_packed_list_is_the_same_instance() {
+        final PackedWordList packed = PackedWordList.of(PackedWordListResources.BUNDLED[0]);
+        assertSame(packed, PackedWordList.of(packed));
+    }
+
+    private static byte[] bytes(final PackedWordList packed) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        packed.writeTo(out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import io.github.elseifn.lib39.wordlists.English;
+import io.github.elseifn.lib39.wordlists.French;
+import io.github.elseifn.lib39.wordlists.Japanese;
+import io.github.elseifn.lib39.wordlists.Spanish;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.github.elseifn.TestCharSequence.preventToStringAndSubSequence;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public final class PackedWordListTests {
+
+    private static final List<WordList> WORD_LISTS =
+            Arrays.asList(English.INSTANCE, French.INSTANCE, Spanish.INSTANCE, Japanese.INSTANCE);
+
+    @Test
+    public void words_and_space_match_source() {
+        for (final WordList wordList : WORD_LISTS) {
+            final PackedWordList packed = PackedWordList.of(wordList);
+            assertEquals(wordList.getSpace(), packed.getSpace());
+            for (int i = 0; i < 2048; i++) {
+                assertEquals(wordList.getWord(i), packed.getWord(i));
+            }
+        }
+    }
+
+    @Test
+    public void normalized_forms_match_source() {
+        for (final WordList wordList : WORD_LISTS) {
+            final PackedWordList packed = PackedWordList.of(wordList);
+            final char[] chars = new char[64];
+            final byte[] bytes = new byte[128];
+            for (int i = 0; i < 2048; i++) {
+                final String normalized = Normalizer.normalize(wordList.getWord(i), Normalizer.Form.NFKD);
+                assertEquals(normalized, packed.getNormalizedWord(i));
+                assertEquals(normalized.length(), packed.normalizedLength(i));
+                final int length = packed.copyNormalized(i, chars, 1);
+                assertEquals(normalized, new String(chars, 1, length));
+                final byte[] utf8 = normalized.getBytes(StandardCharsets.UTF_8);
+                assertEquals(utf8.length, packed.normalizedUtf8Length(i));
+                final int byteLength = packed.copyNormalizedUtf8(i, bytes, 2);
+                assertArrayEquals(utf8, Arrays.copyOfRange(bytes, 2, 2 + byteLength));
+            }
+        }
+    }
+
+    @Test
+    public void index_of_all_forms() {
+        for (final WordList wordList : WORD_LISTS) {
+            final PackedWordList packed = PackedWordList.of(wordList);
+            for (int i = 0; i < 2048; i++) {
+                final String word = wordList.getWord(i);
+                assertEquals(i, packed.indexOf(word));
+                assertEquals(i, packed.indexOf(new StringBuilder(word)));
+                assertEquals(i, packed.indexOf(preventToStringAndSubSequence(word)));
+                assertEquals(i, packed.indexOf(Normalizer.normalize(word, Normalizer.Form.NFKD)));
+                assertEquals(i, packed.indexOf(Normalizer.normalize(word, Normalizer.Form.NFC)));
+                assertEquals(-1, packed.indexOf(word + "X"));
+            }
+        }
+    }
+
+    @Test
+    public void sorted_order_is_by_normalized_form() {
+        for (final WordList wordList : WORD_LISTS) {
+            final PackedWordList packed = PackedWordList.of(wordList);
+            for (int i = 1; i < 2048; i++) {
+                final String previous = packed.getNormalizedWord(packed.sortedWordIndex(i - 1));
+                final String word = packed.getNormalizedWord(packed.sortedWordIndex(i));
+                assertTrue(CharSequenceComparators.ALPHABETICAL.compare(previous, word) < 0);
+                assertEquals(i, packed.sortedInsertionPoint(word));
+            }
+            assertEquals(0, packed.sortedInsertionPoint(""));
+            assertEquals(2048, packed.sortedInsertionPoint("￿"));
+        }
+    }
+
+    @Test
+    public void normalized_space_matches_source() {
+        for (final WordList wordList : WORD_LISTS) {
+            assertEquals(Normalizer.normalize(String.valueOf(wordList.getSpace()), Normalizer.Form.NFKD),
+                    String.valueOf(PackedWordList.of(wordList).getNormalizedSpace()));
+        }
+    }
+
+    @Test
+    public void bundled_lists_are_packed_once_and_shared() throws InterruptedException {
+        final PackedWordList[] packed = new PackedWordList[WORD_LISTS.size() * 4];
+        final Thread[] threads = new Thread[packed.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread(() -> packed[index] = PackedWordList.of(WORD_LISTS.get(index % WORD_LISTS.size())));
+            threads[i].start();
+        }
+        for (final Thread thread : threads) thread.join();
+        for (int i = 0; i < packed.length; i++) {
+            assertSame(PackedWordList.of(WORD_LISTS.get(i % WORD_LISTS.size())), packed[i]);
+        }
+    }
+
+    @Test
+    public void packing_a_packed_list_returns_same_instance() {
+        final PackedWordList packed = PackedWordList.of(English.INSTANCE);
+        assertSame(packed, PackedWordList.of(packed));
+    }
+
+    @Test
+    public void packed_list_is_usable_as_a_word_list() throws Exception {
+        final PackedWordList packed = PackedWordList.of(Japanese.INSTANCE);
+        final StringBuilder sb = new StringBuilder();
+        new MnemonicGenerator(packed).createMnemonic(new byte[16], sb::append);
+        MnemonicValidator.ofWordList(packed).validate(sb);
+        assertArrayEquals(
+                new SeedCalculator().calculateSeed(sb.toString(), ""),
+                new SeedCalculator().withWordsFromWordList(packed)
+                        .calculateSeed(Arrays.asList(sb.toString().split("\u3000")), ""));
+    }
+}
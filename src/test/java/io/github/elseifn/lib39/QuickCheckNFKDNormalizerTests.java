@@ -0,0 +1,93 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import io.github.elseifn.lib39.wordlists.English;
+import io.github.elseifn.lib39.wordlists.French;
+import io.github.elseifn.lib39.wordlists.Japanese;
+import io.github.elseifn.lib39.wordlists.Spanish;
+import org.junit.Test;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public final class QuickCheckNFKDNormalizerTests {
+
+    private static final NFKDNormalizer normalizer = QuickCheckNFKDNormalizer.INSTANCE;
+
+    @Test
+    public void ascii_string_is_returned_without_copy() {
+        final String ascii = "abandon ability able about TREZOR 123 ~";
+        assertSame(ascii, normalizer.normalize(ascii));
+    }
+
+    @Test
+    public void normalized_string_is_returned_without_copy() {
+        final String normalized = Normalizer.normalize(Japanese.INSTANCE.getWord(2), Normalizer.Form.NFKD);
+        assertSame(normalized, normalizer.normalize(normalized));
+    }
+
+    @Test
+    public void ascii_char_sequence() {
+        assertEquals("abandon", normalizer.normalize(new StringBuilder("abandon")));
+    }
+
+    @Test
+    public void un_normalized_string_is_normalized() {
+        final String word = Japanese.INSTANCE.getWord(2);
+        assertEquals(Normalizer.normalize(word, Normalizer.Form.NFKD), normalizer.normalize(word));
+    }
+
+    @Test
+    public void matches_jdk_for_all_forms_of_all_words() {
+        for (final WordList wordList : Arrays.asList(English.INSTANCE, French.INSTANCE, Spanish.INSTANCE,
+                Japanese.INSTANCE)) {
+            for (int i = 0; i < 2048; i++) {
+                final String word = wordList.getWord(i);
+                for (final Normalizer.Form form : Normalizer.Form.values()) {
+                    final String input = Normalizer.normalize(word, form);
+                    final String expected = Normalizer.normalize(input, Normalizer.Form.NFKD);
+                    assertEquals(expected, normalizer.normalize(input));
+                    assertEquals(expected, normalizer.normalize(new StringBuilder(input)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void matches_jdk_for_compatibility_characters_and_surrogates() {
+        for (final String input : Arrays.asList("", "ﬁ", "Ａ", "①", "ｶﾞ", "한국어", "é", "́e",
+                "𝐀", "\uD800", "ạ̇", "Å")) {
+            assertEquals(input, Normalizer.normalize(input, Normalizer.Form.NFKD), normalizer.normalize(input));
+        }
+    }
+
+    @Test
+    public void matches_jdk_for_every_bmp_char() {
+        for (char c = 0x80; c < 0xffff; c++) {
+            final String input = "a" + c;
+            assertEquals(Normalizer.normalize(input, Normalizer.Form.NFKD), normalizer.normalize(input));
+        }
+    }
+}
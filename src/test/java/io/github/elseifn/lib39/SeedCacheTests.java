@@ -0,0 +1,180 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.elseifn.Hex.toHex;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public final class SeedCacheTests {
+
+    private static final String MNEMONIC =
+            "solar puppy hawk oxygen trip brief erase slot fossil mechanic filter voice";
+    private static final String SEED =
+            "36732d826f4fa483b5fe8373ef8d6aa3cb9c8fb30463d6c0063ee248afca2f87d11ebe6e75c2fb2736435994b868f8e9d4f4474c65ee05ac47aad7ef8a497846";
+
+    @Test
+    public void hits_after_first_calculation() {
+        try (final SeedCache cache = new SeedCache(new SeedCalculator(), 10, 1, TimeUnit.MINUTES)) {
+            final byte[] first = cache.calculateSeed(MNEMONIC, "CryptoIsCool");
+            final byte[] second = cache.calculateSeed(MNEMONIC.toCharArray(), "CryptoIsCool".toCharArray());
+            assertEquals(SEED, toHex(first));
+            assertEquals(SEED, toHex(second));
+            assertNotSame(first, second);
+            assertEquals(1, cache.getCount(SeedCache.Counter.MISSES));
+            assertEquals(1, cache.getCount(SeedCache.Counter.HITS));
+            assertEquals(1, cache.size());
+            first[0]++;
+            assertEquals(SEED, toHex(cache.calculateSeed(MNEMONIC, "CryptoIsCool")));
+        }
+    }
+
+    @Test
+    public void keyed_on_normalized_input() {
+        try (final SeedCache cache = new SeedCache(new SeedCalculator(), 10, 1, TimeUnit.MINUTES)) {
+            final byte[] halfWidth = cache.calculateSeed(MNEMONIC, "ｶ");
+            final byte[] fullWidth = cache.calculateSeed(MNEMONIC, "カ");
+            assertEquals(toHex(halfWidth), toHex(fullWidth));
+            assertEquals(1, cache.getCount(SeedCache.Counter.HITS));
+            cache.calculateSeed(MNEMONIC, "");
+            cache.calculateSeed(MNEMONIC + " ", "");
+            cache.calculateSeed("solar puppy", "hawk");
+            cache.calculateSeed("solar puppy hawk", "");
+            assertEquals(5, cache.getCount(SeedCache.Counter.MISSES));
+        }
+    }
+
+    @Test
+    public void evicts_least_recently_used_and_clears() {
+        try (final SeedCache cache = new SeedCache(new SeedCalculator(), 1, 1, TimeUnit.MINUTES)) {
+            cache.calculateSeed(MNEMONIC, "a");
+            final List<byte[]> held = cache.cachedSeeds();
+            cache.calculateSeed(MNEMONIC, "b");
+            assertEquals(1, cache.size());
+            assertEquals(1, cache.getCount(SeedCache.Counter.EVICTIONS));
+            assertCleared(held);
+        }
+    }
+
+    @Test
+    public void expires() throws InterruptedException {
+        try (final SeedCache cache = new SeedCache(new SeedCalculator(), 10, 50, TimeUnit.MILLISECONDS)) {
+            cache.calculateSeed(MNEMONIC, "a");
+            cache.calculateSeed(MNEMONIC, "b");
+            final List<byte[]> held = cache.cachedSeeds();
+            Thread.sleep(100);
+            cache.calculateSeed(MNEMONIC, "a");
+            cache.cleanUp();
+            assertEquals(0, cache.getCount(SeedCache.Counter.HITS));
+            assertEquals(3, cache.getCount(SeedCache.Counter.MISSES));
+            assertEquals(2, cache.getCount(SeedCache.Counter.EVICTIONS));
+            assertEquals(1, cache.size());
+            assertCleared(held);
+        }
+    }
+
+    @Test
+    public void close_clears_and_refuses() {
+        final SeedCache cache = new SeedCache(new SeedCalculator(), 100, 1, TimeUnit.MINUTES);
+        for (int i = 0; i < 10; i++) {
+            cache.calculateSeed(MNEMONIC, "passphrase " + i);
+        }
+        final List<byte[]> held = cache.cachedSeeds();
+        assertThat(held).hasSize(10);
+        cache.close();
+        assertCleared(held);
+        assertEquals(0, cache.size());
+        assertThatThrownBy(() -> cache.calculateSeed(MNEMONIC, ""))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void invalidate_all_clears() {
+        try (final SeedCache cache = new SeedCache(new SeedCalculator(), 100, 1, TimeUnit.MINUTES)) {
+            cache.calculateSeed(MNEMONIC, "");
+            final List<byte[]> held = cache.cachedSeeds();
+            cache.invalidateAll();
+            assertCleared(held);
+            assertEquals(0, cache.size());
+            cache.calculateSeed(MNEMONIC, "");
+            assertEquals(2, cache.getCount(SeedCache.Counter.MISSES));
+        }
+    }
+
+    @Test
+    public void bounded_under_concurrent_use() throws Exception {
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (final SeedCache cache = new SeedCache(new SeedCalculator(), 20, 1, TimeUnit.MINUTES)) {
+            final String expected = toHex(new SeedCalculator().calculateSeed(MNEMONIC, "3"));
+            final List<Future<String>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        String seed = null;
+                        for (int i = 0; i < 40; i++) {
+                            final byte[] calculated = cache.calculateSeed(MNEMONIC, String.valueOf(i % 30));
+                            if (i % 30 == 3)
+                                seed = toHex(calculated);
+                        }
+                        return seed;
+                    }
+                }));
+            }
+            for (final Future<String> result : results) {
+                assertEquals(expected, result.get());
+            }
+            assertThat(cache.size()).isLessThanOrEqualTo(20);
+            assertEquals(threads * 40, cache.getCount(SeedCache.Counter.HITS) +
+                    cache.getCount(SeedCache.Counter.MISSES));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void bad_arguments() {
+        assertThatThrownBy(() -> new SeedCache(new SeedCalculator(), 0, 1, TimeUnit.MINUTES))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SeedCache(new SeedCalculator(), 1, 0, TimeUnit.MINUTES))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertCleared(final List<byte[]> seeds) {
+        assertThat(seeds).isNotEmpty();
+        for (final byte[] seed : seeds) {
+            assertThat(seed).containsOnly(0);
+        }
+    }
+}
@@ -28,6 +28,7 @@ import org.junit.Test;
 
 import java.math.BigInteger;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.assertEquals;
 
 public final class SeedCalculationTests {
@@ -74,6 +75,51 @@ public final class SeedCalculationTests {
         }
     }
 
+    @Test
+    public void passphrase_too_long_to_normalize() {
+        final CharSequence passphrase = new RepeatedChar(200_000_000);
+        assertThatThrownBy(() -> new SeedCalculator().calculateSeed("abandon".toCharArray(), passphrase, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Input of 200000000 chars is too long to normalize into an array");
+    }
+
+    @Test
+    public void passphrase_that_grows_while_normalizing() {
+        final CharSequence passphrase = new RepeatedChar(1) {
+            private int calls;
+
+            @Override
+            public int length() {
+                return calls++ == 0 ? 1 : 100_000;
+            }
+        };
+        assertThatThrownBy(() -> new SeedCalculator().calculateSeed("abandon".toCharArray(), passphrase, null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static class RepeatedChar implements CharSequence {
+        private final int length;
+
+        RepeatedChar(final int length) {
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return 'a';
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     private static String calculateSeedHex(final String mnemonic) {
         return calculateSeedHex(mnemonic, "");
     }
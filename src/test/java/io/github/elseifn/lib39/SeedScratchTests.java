@@ -0,0 +1,82 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public final class SeedScratchTests {
+
+    @Test
+    public void negative_lengths_are_rejected() {
+        final SeedScratch scratch = SeedScratch.acquire();
+        try {
+            assertThatThrownBy(() -> scratch.mnemonic(-1))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Negative length -1");
+            assertThatThrownBy(() -> scratch.passphrase(-1))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> scratch.salt(Integer.MIN_VALUE))
+                    .isInstanceOf(IllegalArgumentException.class);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    @Test
+    public void buffers_up_to_the_cap_are_retained() {
+        final SeedScratch scratch = SeedScratch.acquire();
+        final char[] mnemonic = scratch.mnemonic(SeedScratch.MAX_RETAINED_LENGTH);
+        mnemonic[0] = 'a';
+        scratch.release();
+
+        final SeedScratch again = SeedScratch.acquire();
+        try {
+            assertSame(scratch, again);
+            assertSame(mnemonic, again.mnemonic(0));
+            assertEquals('\0', mnemonic[0]);
+        } finally {
+            again.release();
+        }
+    }
+
+    @Test
+    public void buffers_over_the_cap_are_dropped() {
+        final SeedScratch scratch = SeedScratch.acquire();
+        final char[] passphrase = scratch.passphrase(SeedScratch.MAX_RETAINED_LENGTH + 1);
+        passphrase[SeedScratch.MAX_RETAINED_LENGTH] = 'a';
+        scratch.salt(SeedScratch.MAX_RETAINED_LENGTH + 1);
+        scratch.release();
+
+        final SeedScratch again = SeedScratch.acquire();
+        try {
+            assertEquals('\0', passphrase[SeedScratch.MAX_RETAINED_LENGTH]);
+            assertEquals(0, again.passphrase(0).length);
+            assertEquals(0, again.salt(0).length);
+        } finally {
+            again.release();
+        }
+    }
+}
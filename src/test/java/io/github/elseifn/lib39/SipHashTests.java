@@ -0,0 +1,55 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.elseifn.lib39;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public final class SipHashTests {
+
+    private static final SipHash REFERENCE = new SipHash(0x0706050403020100L, 0x0f0e0d0c0b0a0908L);
+
+    @Test
+    public void reference_vectors() {
+        final byte[] message = new byte[16];
+        for (int i = 0; i < message.length; i++) message[i] = (byte) i;
+        assertEquals(0x726fdb47dd0e0e31L, REFERENCE.hash(message, 0, 0));
+        assertEquals(0xab0200f58b01d137L, REFERENCE.hash(message, 0, 7));
+        assertEquals(0x93f5f5799a932462L, REFERENCE.hash(message, 0, 8));
+        assertEquals(0xa129ca6149be45e5L, REFERENCE.hash(message, 0, 15));
+    }
+
+    @Test
+    public void offset() {
+        final byte[] message = new byte[17];
+        for (int i = 0; i < 15; i++) message[i + 2] = (byte) i;
+        assertEquals(0xa129ca6149be45e5L, REFERENCE.hash(message, 2, 15));
+    }
+
+    @Test
+    public void random_keys_differ() {
+        final byte[] message = new byte[33];
+        assertNotEquals(SipHash.withRandomKey().hash(message, 0, 33), SipHash.withRandomKey().hash(message, 0, 33));
+    }
+}
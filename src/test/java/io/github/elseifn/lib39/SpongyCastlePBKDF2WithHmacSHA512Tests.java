@@ -0,0 +1,93 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import org.junit.Test;
+import org.spongycastle.crypto.PBEParametersGenerator;
+import org.spongycastle.crypto.digests.SHA512Digest;
+import org.spongycastle.crypto.generators.PKCS5S2ParametersGenerator;
+import org.spongycastle.crypto.params.KeyParameter;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static io.github.elseifn.Hex.toHex;
+import static org.junit.Assert.assertEquals;
+
+public final class SpongyCastlePBKDF2WithHmacSHA512Tests {
+
+    @Test
+    public void same_as_spongy_castle_generator() {
+        final Random random = new Random(1234);
+        for (int i = 0; i < 50; i++) {
+            final char[] password = randomPassword(random, random.nextInt(i < 25 ? 40 : 300));
+            final byte[] salt = new byte[random.nextInt(200)];
+            random.nextBytes(salt);
+            assertEquals(toHex(generator(password, salt)),
+                    toHex(SpongyCastlePBKDF2WithHmacSHA512.INSTANCE.hash(password, salt)));
+        }
+    }
+
+    @Test
+    public void key_longer_than_block() {
+        final char[] password = new char[129];
+        Arrays.fill(password, 'a');
+        final byte[] salt = "mnemonic".getBytes();
+        assertEquals(toHex(generator(password, salt)),
+                toHex(SpongyCastlePBKDF2WithHmacSHA512.INSTANCE.hash(password, salt)));
+    }
+
+    @Test
+    public void same_as_into_buffer() {
+        final char[] password = "ゆうびんやさん　きぶん".toCharArray();
+        final byte[] salt = "mnemonicTREZOR".getBytes();
+        final byte[] out = new byte[SeedCalculator.SEED_LENGTH + 1];
+        SpongyCastlePBKDF2WithHmacSHA512.INSTANCE.hash(password, password.length, salt, salt.length, out, 1);
+        assertEquals(toHex(Arrays.copyOfRange(out, 1, out.length)),
+                toHex(SpongyCastlePBKDF2WithHmacSHA512.INSTANCE.hash(password, salt)));
+    }
+
+    private static char[] randomPassword(final Random random, final int length) {
+        final StringBuilder sb = new StringBuilder();
+        while (sb.length() < length) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    sb.append((char) ('a' + random.nextInt(26)));
+                    break;
+                case 1:
+                    sb.append((char) (0x80 + random.nextInt(0x780)));
+                    break;
+                case 2:
+                    sb.append((char) (0x3040 + random.nextInt(0x60)));
+                    break;
+                default:
+                    sb.appendCodePoint(0x1f600 + random.nextInt(0x50));
+            }
+        }
+        return sb.toString().toCharArray();
+    }
+
+    private static byte[] generator(final char[] password, final byte[] salt) {
+        final PKCS5S2ParametersGenerator generator = new PKCS5S2ParametersGenerator(new SHA512Digest());
+        generator.init(PBEParametersGenerator.PKCS5PasswordToUTF8Bytes(password), salt, 2048);
+        return ((KeyParameter) generator.generateDerivedMacParameters(512)).getKey();
+    }
+}
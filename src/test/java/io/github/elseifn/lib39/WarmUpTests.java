@@ -0,0 +1,88 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Tongjian Cui, elseifn
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/elseifn/Lib39
+ *  You can contact the authors via github issues.
+ */
+package io.github.elseifn.lib39;
+
+import io.github.elseifn.lib39.wordlists.English;
+import io.github.elseifn.lib39.wordlists.Japanese;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+public final class WarmUpTests {
+
+    @Test
+    public void iteration_budget_limits_each_path() {
+        final WarmUp.Report report = new WarmUp()
+                .withWordLists(English.INSTANCE, Japanese.INSTANCE)
+                .withHashAlgorithm(JavaxPBKDF2WithHmacSHA512.INSTANCE)
+                .withIterationBudget(25)
+                .run();
+        assertThat(report.getPaths().keySet()).containsExactly(WarmUp.Path.values());
+        for (final WarmUp.PathReport path : report.getPaths().values()) {
+            assertEquals(25, path.getOperations());
+            assertThat(path.isSettled()).isFalse();
+            assertThat(path.getFirstBatchNanosPerOperation()).isPositive();
+        }
+        assertThat(report.isSettled()).isFalse();
+        assertThat(report.toString()).startsWith("Warm up took").contains("SEED_CALCULATION: 25 operations");
+    }
+
+    @Test
+    public void time_budget_limits_the_run() {
+        final WarmUp.Report report = new WarmUp()
+                .withTimeBudget(100, TimeUnit.MILLISECONDS)
+                .run();
+        assertThat(report.getElapsedNanos()).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        for (final WarmUp.PathReport path : report.getPaths().values()) {
+            assertThat(path.getOperations()).isPositive();
+        }
+    }
+
+    @Test
+    public void paths_settle_and_are_reported() throws InterruptedException, ExecutionException {
+        final List<WarmUp.Path> settled = new ArrayList<>();
+        final Future<WarmUp.Report> future = new WarmUp()
+                .withListener(path -> settled.add(path.getPath()))
+                .runInBackground();
+        final WarmUp.Report report = future.get();
+        assertThat(report.isSettled()).isTrue();
+        assertThat(settled).containsExactlyInAnyOrder(WarmUp.Path.values());
+        for (final WarmUp.PathReport path : report.getPaths().values()) {
+            assertThat(path.getOperations()).isGreaterThanOrEqualTo(path.getPath() == WarmUp.Path.SEED_CALCULATION
+                    ? 500 : 20_000);
+            assertThat(path.getLastBatchNanosPerOperation()).isPositive();
+        }
+    }
+
+    @Test
+    public void needs_a_word_list() {
+        assertThatThrownBy(() -> new WarmUp().withWordLists())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
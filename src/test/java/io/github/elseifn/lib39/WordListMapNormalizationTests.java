@@ -27,6 +27,7 @@ import io.github.elseifn.lib39.wordlists.Japanese;
 import io.github.elseifn.lib39.wordlists.Spanish;
 import org.junit.Test;
 
+import java.nio.CharBuffer;
 import java.text.Normalizer;
 import java.util.Arrays;
 import java.util.List;
@@ -144,6 +145,28 @@ public final class WordListMapNormalizationTests {
         assertSame(map.normalize(word51), map.normalize(preventToStringAndSubSequence(split.get(1))));
     }
 
+    @Test
+    public void any_char_sequence_type_finds_the_cached_word() {
+        for (WordList wordList : Arrays.asList(Japanese.INSTANCE, English.INSTANCE, French.INSTANCE, Spanish.INSTANCE)) {
+            final WordListMapNormalization map = new WordListMapNormalization(wordList);
+            for (int i = 0; i < 2048; i++) {
+                final String word = wordList.getWord(i);
+                final String expected = map.normalize(word);
+                assertSame(expected, map.normalize(new StringBuilder(word)));
+                assertSame(expected, map.normalize(CharBuffer.wrap(word.toCharArray())));
+                assertSame(expected, map.normalize(new StringBuilder("x" + word + "y").subSequence(1, word.length() + 1)));
+                assertSame(expected, map.normalize(preventToStringAndSubSequence(new StringBuilder(word))));
+            }
+        }
+    }
+
+    @Test
+    public void char_sequence_off_WordList_is_normalized() {
+        final WordListMapNormalization map = new WordListMapNormalization(Japanese.INSTANCE);
+        final String word = Japanese.INSTANCE.getWord(2) + "X";
+        assertEquals(Normalizer.normalize(word, Normalizer.Form.NFKD), map.normalize(new StringBuilder(word)));
+    }
+
     private static void assertWordIsNotNormalized(String word) {
         assertFalse(isNormalized(word));
     }